@@ -0,0 +1,117 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.BibliotecaApplication;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.service.BookImportService;
+import com.biblioteca.service.LoanService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the application on an in-memory H2 database, without a web server
+ * unless asked for one, and seeds a reproducible catalog of the requested size.
+ */
+final class BenchmarkApplication {
+    static final int AUTHORS = 100;
+    static final long SEED = 42L;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        return builder(name)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * Same as {@link #start(String)} but with Tomcat on a random port.
+     */
+    static ConfigurableApplicationContext startWeb(String name, String... properties) {
+        return builder(name)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+    }
+
+    private static SpringApplicationBuilder builder(String name) {
+        return new SpringApplicationBuilder(BibliotecaApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN");
+    }
+
+    static List<Long> seedBooks(ConfigurableApplicationContext context, int books) throws IOException {
+        AuthorRepository authorRepository = context.getBean(AuthorRepository.class);
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setName("Autor " + i);
+            author.setCountry(i % 2 == 0 ? "España" : "Colombia");
+            authors.add(author);
+        }
+        authors = authorRepository.saveAll(authors);
+
+        Random random = new Random(SEED);
+        StringBuilder ndjson = new StringBuilder(books * 160);
+        for (int i = 0; i < books; i++) {
+            ndjson.append("{\"title\":\"Título de catálogo ").append(i)
+                    .append("\",\"isbn\":\"978-").append(1_000_000_000L + i)
+                    .append("\",\"author\":{\"id\":").append(authors.get(random.nextInt(AUTHORS)).getId())
+                    .append("},\"publicationYear\":").append(1900 + random.nextInt(124))
+                    .append(",\"description\":\"Descripción del libro ").append(i)
+                    .append("\",\"copies\":1000000,\"availableCopies\":1000000}\n");
+        }
+        context.getBean(BookImportService.class)
+                .importBooks(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        List<Long> ids = new ArrayList<>(books);
+        context.getBean(BookRepository.class).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, books))
+                .forEach(book -> ids.add(book.getId()));
+        return ids;
+    }
+
+    static List<Long> seedUsers(ConfigurableApplicationContext context, int users) {
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setName("Socio " + i);
+            user.setEmail("socio" + i + "@example.com");
+            user.setMemberId("M" + (100_000 + i));
+            batch.add(user);
+        }
+        List<Long> ids = new ArrayList<>(users);
+        context.getBean(UserRepository.class).saveAll(batch).forEach(user -> ids.add(user.getId()));
+        return ids;
+    }
+
+    static void seedLoans(ConfigurableApplicationContext context, List<Long> bookIds, List<Long> userIds, int loans) {
+        LoanService loanService = context.getBean(LoanService.class);
+        Random random = new Random(SEED);
+        for (int i = 0; i < loans; i++) {
+            loanService.checkout(bookIds.get(random.nextInt(bookIds.size())),
+                    userIds.get(random.nextInt(userIds.size())));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.exception.GlobalExceptionHandler;
+import com.biblioteca.exception.NoCopiesAvailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a service exception into the JSON error body, including
+ * the stack trace capture of throwing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] notFound() throws Exception {
+        try {
+            throw new RuntimeException("Book not found");
+        } catch (RuntimeException ex) {
+            ResponseEntity<Object> response = handler.handleRuntimeException(ex, null);
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+
+    @Benchmark
+    public byte[] noCopiesAvailable() throws Exception {
+        try {
+            throw new NoCopiesAvailableException(1L);
+        } catch (NoCopiesAvailableException ex) {
+            ResponseEntity<Object> response = handler.handleNoCopiesAvailable(ex, null);
+            return objectMapper.writeValueAsBytes(response.getBody());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"1", "100", "1000"})
+    private int listSize;
+
+    private ObjectWriter bookListWriter;
+    private ObjectWriter loanListWriter;
+    private ObjectReader bookReader;
+    private List<Book> books;
+    private List<Loan> loans;
+    private byte[] bookJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Book.class));
+        loanListWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Loan.class));
+        bookReader = objectMapper.readerFor(Book.class);
+
+        Author author = new Author(1L, "Gabriel García Márquez", "Colombia", 1927);
+        User user = new User(1L, "John Doe", "john@example.com", "M001", "Barcelona", true);
+        books = new ArrayList<>(listSize);
+        loans = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            Book book = new Book((long) i, "Cien años de soledad " + i, "978-" + (1_000_000_000L + i), author,
+                    1967, "Novela de realismo mágico", 5, 3);
+            books.add(book);
+            loans.add(new Loan((long) i, book, user, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 15),
+                    null, LoanStatus.ACTIVE));
+        }
+        bookJson = objectMapper.writeValueAsBytes(books.get(0));
+    }
+
+    @Benchmark
+    public byte[] serializeBooks() throws Exception {
+        return bookListWriter.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] serializeLoans() throws Exception {
+        return loanListWriter.writeValueAsBytes(loans);
+    }
+
+    @Benchmark
+    public Book deserializeBook() throws Exception {
+        return bookReader.readValue(bookJson);
+    }
+}
@@ -0,0 +1,166 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.model.LoanStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@code LoanRepository.findByUserIdAndStatus} lookups for active loans with the old varchar
+ * status column against the smallint column and its partial index on open loans.
+ *
+ * <p>Runs on PostgreSQL, not H2: load at least 10M loans first with the {@code datagen} profile; the
+ * migrations it runs build {@code idx_loans_open_user_due}. The connection comes from the same
+ * {@code SPRING_DATASOURCE_*} variables datagen reads. The varchar layout is a copy of {@code loans} with
+ * the status as text and a full {@code (user_id, status)} index, the cheapest way to serve the same
+ * lookup before the change; it is built in setup and dropped afterwards. The migrated {@code loans} has no
+ * full {@code (user_id, status)} index, so the smallint layout measures the partial index. Both layouts run
+ * the SQL Hibernate generates for the repository method, including the entity-graph joins. Index and table
+ * sizes, and the plan of one lookup, are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoanStatusIndexBenchmark {
+    static final long MIN_LOANS = 10_000_000L;
+
+    private static final String VARCHAR_TABLE = "loans_varchar_status";
+    private static final String LOOKUP = "SELECT l.*, b.*, a.*, u.* FROM %s l "
+            + "JOIN books b ON b.id = l.book_id JOIN authors a ON a.id = b.author_id JOIN users u ON u.id = l.user_id "
+            + "WHERE l.user_id = ? AND l.status = ?";
+
+    @Param({"varchar", "smallint"})
+    private String layout;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+    private long maxUserId;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/biblioteca"),
+                env("SPRING_DATASOURCE_USERNAME", "postgres"),
+                env("SPRING_DATASOURCE_PASSWORD", "postgres"));
+
+        long loans = scalar("SELECT count(*) FROM loans");
+        if (loans < MIN_LOANS) {
+            System.out.printf("WARNING: only %,d loans; load %,d or more with datagen%n", loans, MIN_LOANS);
+        }
+        maxUserId = scalar("SELECT max(id) FROM users");
+
+        String table;
+        String index;
+        if ("varchar".equals(layout)) {
+            createVarcharCopy();
+            table = VARCHAR_TABLE;
+            index = "idx_loans_varchar_user_status";
+        } else {
+            table = "loans";
+            index = "idx_loans_open_user_due";
+        }
+        System.out.printf("%s: %,d loans, table %s, index %s %s%n", layout, loans,
+                text("SELECT pg_size_pretty(pg_relation_size('" + table + "'))"), index,
+                text("SELECT pg_size_pretty(pg_relation_size('" + index + "'))"));
+
+        lookup = connection.prepareStatement(String.format(LOOKUP, table));
+        random = new SplittableRandom(BenchmarkApplication.SEED);
+        printPlan(table);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if ("varchar".equals(layout)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + VARCHAR_TABLE);
+            }
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int findActiveLoansByUser() throws SQLException {
+        lookup.setLong(1, 1 + random.nextLong(maxUserId));
+        if ("varchar".equals(layout)) {
+            lookup.setString(2, LoanStatus.ACTIVE.name());
+        } else {
+            lookup.setShort(2, LoanStatus.ACTIVE.getCode());
+        }
+        int rows = 0;
+        try (ResultSet resultSet = lookup.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private void createVarcharCopy() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + VARCHAR_TABLE);
+            statement.execute("CREATE TABLE " + VARCHAR_TABLE + " AS "
+                    + "SELECT id, book_id, user_id, loan_date, due_date, return_date, "
+                    + "(CASE status WHEN 1 THEN 'ACTIVE' WHEN 2 THEN 'OVERDUE' ELSE 'RETURNED' END)::varchar(255) "
+                    + "AS status "
+                    + "FROM loans");
+            statement.execute("CREATE INDEX idx_loans_varchar_user_status ON "
+                    + VARCHAR_TABLE + " (user_id, status)");
+            statement.execute("ANALYZE " + VARCHAR_TABLE);
+        }
+    }
+
+    private void printPlan(String table) throws SQLException {
+        String status = "varchar".equals(layout) ? "'" + LoanStatus.ACTIVE.name() + "'"
+                : String.valueOf(LoanStatus.ACTIVE.getCode());
+        String sql = String.format(LOOKUP, table).replace("l.user_id = ?", "l.user_id = " + (maxUserId / 2))
+                .replace("l.status = ?", "l.status = " + status);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                System.out.println("  " + resultSet.getString(1));
+            }
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private long scalar(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private String text(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.biblioteca.benchmarks;
+
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.service.BookService;
+import com.biblioteca.service.LoanService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"1000", "50000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private LoanService loanService;
+    private List<Long> bookIds;
+    private List<Long> userIds;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkApplication.start("services" + datasetSize);
+        bookService = context.getBean(BookService.class);
+        loanService = context.getBean(LoanService.class);
+        bookIds = BenchmarkApplication.seedBooks(context, datasetSize);
+        userIds = BenchmarkApplication.seedUsers(context, Math.max(10, datasetSize / 10));
+        BenchmarkApplication.seedLoans(context, bookIds, userIds, datasetSize / 2);
+        random = new SplittableRandom(BenchmarkApplication.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Book> getBookById() {
+        return bookService.getBookById(randomBook());
+    }
+
+    @Benchmark
+    public List<Book> getBooksFirstPage() {
+        return bookService.getBooksPage(null, BookService.DEFAULT_PAGE_SIZE).getItems();
+    }
+
+    @Benchmark
+    public Object searchBooks() {
+        return bookService.searchBooks("catálogo " + random.nextInt(datasetSize), null);
+    }
+
+    @Benchmark
+    public Object suggest() {
+        return bookService.suggest("Títu", null);
+    }
+
+    @Benchmark
+    public List<Loan> getLoansByUserId() {
+        return loanService.getLoansByUserId(userIds.get(random.nextInt(userIds.size())));
+    }
+
+    @Benchmark
+    public Loan checkoutAndReturn() {
+        Loan loan = loanService.checkout(randomBook(), userIds.get(random.nextInt(userIds.size())));
+        return loanService.returnLoan(loan.getId());
+    }
+
+    private Long randomBook() {
+        return bookIds.get(random.nextInt(bookIds.size()));
+    }
+}
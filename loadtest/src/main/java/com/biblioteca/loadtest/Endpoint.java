@@ -0,0 +1,34 @@
+package com.biblioteca.loadtest;
+
+enum Endpoint {
+    BOOKS("books", "GET /api/books"),
+    BOOK("book", "GET /api/books/{id}"),
+    SEARCH("search", "GET /api/books/search"),
+    AVAILABLE("available", "GET /api/books/available"),
+    AUTHORS("authors", "GET /api/authors"),
+    REACTIVE_AVAILABLE("reactive-available", "GET /api/reactive/books/available"),
+    REACTIVE_AUTHORS("reactive-authors", "GET /api/reactive/authors"),
+    CHECKOUT("checkout", "POST /api/loans/checkout"),
+    RETURN("return", "POST /api/loans/{id}/return");
+
+    private final String key;
+    private final String label;
+
+    Endpoint(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+}
@@ -0,0 +1,138 @@
+package com.biblioteca.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Open-loop generator: requests are scheduled at a fixed arrival rate and never
+ * wait for earlier responses. Latency is measured from the intended send time,
+ * not the actual one, so a stalled server or client shows up as queueing delay
+ * instead of silently lowering the offered load (coordinated omission).
+ */
+final class LoadGenerator {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final URI base;
+    private final ObjectMapper objectMapper;
+    private final Seeder.Catalog catalog;
+    private final Endpoint[] weighted;
+    private final Queue<Long> openLoans = new ConcurrentLinkedQueue<>();
+
+    LoadGenerator(HttpClient client, URI base, ObjectMapper objectMapper, Seeder.Catalog catalog,
+                  Map<Endpoint, Integer> mix) {
+        this.client = client;
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.catalog = catalog;
+        this.weighted = mix.entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Endpoint[]::new);
+        if (weighted.length == 0) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+    }
+
+    StepResult run(int rate, Duration duration) throws InterruptedException {
+        Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(3));
+            errors.put(endpoint, new AtomicLong());
+        }
+
+        SplittableRandom random = new SplittableRandom(rate);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long total = rate * duration.toSeconds();
+        CountDownLatch completed = new CountDownLatch(Math.toIntExact(total));
+        ResourceSampler sampler = ResourceSampler.start();
+        long started = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intended = started + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = weighted[random.nextInt(weighted.length)];
+            Long loanId = endpoint == Endpoint.RETURN ? openLoans.poll() : null;
+            if (endpoint == Endpoint.RETURN && loanId == null) {
+                endpoint = Endpoint.BOOK;
+            }
+            Endpoint sent = endpoint;
+            send(request(sent, loanId, random)).whenComplete((response, failure) -> {
+                recorders.get(sent).recordValue(System.nanoTime() - intended);
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.get(sent).incrementAndGet();
+                } else if (sent == Endpoint.CHECKOUT) {
+                    rememberLoan(response.body());
+                }
+                completed.countDown();
+            });
+        }
+        if (!completed.await(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(completed.getCount() + " requests never completed");
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        ResourceUsage resources = sampler.stop();
+
+        Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, Long> errorCounts = new EnumMap<>(Endpoint.class);
+        recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+        errors.forEach((endpoint, count) -> errorCounts.put(endpoint, count.get()));
+        return new StepResult(rate, total, elapsedNanos, histograms, errorCounts, resources);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest request(Endpoint endpoint, Long loanId, SplittableRandom random) {
+        long bookId = catalog.bookIds().get(random.nextInt(catalog.bookIds().size()));
+        String path = switch (endpoint) {
+            case BOOKS -> "/api/books?size=20";
+            case BOOK -> "/api/books/" + bookId;
+            case SEARCH -> "/api/books/search?q=catalogo%20" + random.nextInt(catalog.bookIds().size());
+            case AVAILABLE -> "/api/books/available";
+            case AUTHORS -> "/api/authors";
+            case REACTIVE_AVAILABLE -> "/api/reactive/books/available";
+            case REACTIVE_AUTHORS -> "/api/reactive/authors";
+            case CHECKOUT -> "/api/loans/checkout?bookId=" + bookId + "&userId="
+                    + catalog.userIds().get(random.nextInt(catalog.userIds().size()));
+            case RETURN -> "/api/loans/" + loanId + "/return";
+        };
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (endpoint == Endpoint.CHECKOUT || endpoint == Endpoint.RETURN) {
+            builder.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.GET();
+        }
+        return builder.build();
+    }
+
+    private void rememberLoan(String body) {
+        try {
+            openLoans.add(objectMapper.readTree(body).get("id").asLong());
+        } catch (Exception ignored) {
+            // The checkout is already counted; an unreadable body only means one return less.
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.biblioteca.loadtest;
+
+import com.biblioteca.BibliotecaApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts {@link BibliotecaApplication} on a random port, seeds it over HTTP and
+ * replays the configured request mix at each target rate in turn.
+ */
+public final class LoadTest {
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(config.clientThreads());
+        List<StepResult> steps = new ArrayList<>();
+
+        try (ConfigurableApplicationContext context = start(config)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            Seeder.Catalog catalog = new Seeder(client, base, objectMapper).seed(config.books(), config.users());
+            log.info("Seeded {} books and {} users on {}", catalog.bookIds().size(), catalog.userIds().size(),
+                    config.database());
+
+            LoadGenerator generator = new LoadGenerator(client, base, objectMapper, catalog, config.mix());
+            if (!config.warmup().isZero()) {
+                log.info("Warming up at {} req/s for {} s", config.rates().get(0), config.warmup().toSeconds());
+                generator.run(config.rates().get(0), config.warmup());
+            }
+            for (int rate : config.rates()) {
+                log.info("Running {} req/s for {} s", rate, config.step().toSeconds());
+                steps.add(generator.run(rate, config.step()));
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+
+        Report.print(steps, System.out);
+        Report.write(steps, config, objectMapper, config.report());
+        log.info("Report written to {}", config.report().toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BibliotecaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "biblioteca.reactive.enabled=true",
+                        "logging.level.root=WARN",
+                        "logging.level.com.biblioteca.loadtest=INFO");
+        if (config.postgres()) {
+            builder.properties(
+                    "spring.datasource.url=" + config.jdbcUrl(),
+                    "spring.datasource.username=" + config.username(),
+                    "spring.datasource.password=" + config.password(),
+                    "spring.flyway.clean-disabled=false",
+                    "biblioteca.flyway.clean-before-migrate=true",
+                    "biblioteca.reactive.url=" + config.jdbcUrl().replaceFirst("^jdbc:", "r2dbc:"),
+                    "biblioteca.reactive.username=" + config.username(),
+                    "biblioteca.reactive.password=" + config.password());
+        } else {
+            builder.properties(
+                    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "spring.datasource.password=",
+                    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                    "spring.jpa.hibernate.ddl-auto=create-drop",
+                    "spring.flyway.enabled=false",
+                    "biblioteca.reactive.url=r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1",
+                    "biblioteca.reactive.username=sa",
+                    "biblioteca.reactive.password=");
+        }
+        return builder.run();
+    }
+}
@@ -0,0 +1,70 @@
+package com.biblioteca.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code -Dloadtest.*} system properties.
+ */
+record LoadTestConfig(
+        String database,
+        String jdbcUrl,
+        String username,
+        String password,
+        int books,
+        int users,
+        List<Integer> rates,
+        Duration warmup,
+        Duration step,
+        Map<Endpoint, Integer> mix,
+        int clientThreads,
+        Path report) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                property("db", "h2"),
+                property("jdbcUrl", "jdbc:postgresql://localhost:5432/biblioteca_loadtest"),
+                property("username", "postgres"),
+                property("password", "password"),
+                Integer.parseInt(property("books", "10000")),
+                Integer.parseInt(property("users", "1000")),
+                parseRates(property("rates", "100,200,400,800")),
+                Duration.ofSeconds(Long.parseLong(property("warmupSeconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("stepSeconds", "30"))),
+                parseMix(property("mix", "books:20,book:40,search:10,checkout:15,return:15")),
+                Integer.parseInt(property("clientThreads", "16")),
+                Path.of(property("report", "target/loadtest-report.json")));
+    }
+
+    boolean postgres() {
+        return "postgres".equalsIgnoreCase(database);
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static List<Integer> parseRates(String value) {
+        List<Integer> rates = new ArrayList<>();
+        for (String rate : value.split(",")) {
+            rates.add(Integer.parseInt(rate.trim()));
+        }
+        return rates;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            mix.put(Endpoint.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
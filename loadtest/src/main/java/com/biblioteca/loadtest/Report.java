@@ -0,0 +1,103 @@
+package com.biblioteca.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+final class Report {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private Report() {
+    }
+
+    static void print(List<StepResult> steps, PrintStream out) {
+        out.println();
+        out.println("Throughput curve");
+        out.printf("%12s %14s %12s %12s%n", "target req/s", "achieved req/s", "p99 ms", "errors");
+        for (StepResult step : steps) {
+            Histogram all = merged(step.latencies());
+            long errors = step.errors().values().stream().mapToLong(Long::longValue).sum();
+            out.printf("%12d %14.1f %12.2f %12d%n", step.targetRate(), step.achievedRate(),
+                    all.getValueAtPercentile(99.0) / NANOS_PER_MILLI, errors);
+        }
+        out.println();
+        out.println("JVM resources (server and load generator share the JVM)");
+        out.printf("%12s %14s %12s %16s %10s %10s%n", "target req/s", "peak heap MB", "peak threads",
+                "alloc KB/request", "GC count", "GC ms");
+        for (StepResult step : steps) {
+            ResourceUsage resources = step.resources();
+            out.printf("%12d %14.1f %12d %16.1f %10d %10d%n", step.targetRate(),
+                    resources.peakHeapBytes() / BYTES_PER_MB, resources.peakThreads(),
+                    resources.allocatedBytes() / 1024.0 / Math.max(1, step.requests()),
+                    resources.gcCount(), resources.gcMillis());
+        }
+        for (StepResult step : steps) {
+            out.println();
+            out.printf("Latency at %d req/s (ms, measured from intended send time)%n", step.targetRate());
+            out.printf("%-28s %8s %8s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50", "p99", "p99.9", "max");
+            step.latencies().forEach((endpoint, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    out.printf("%-28s %8d %8d %9.2f %9.2f %9.2f %9.2f%n", endpoint.label(),
+                            histogram.getTotalCount(), step.errors().get(endpoint),
+                            histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI,
+                            histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI,
+                            histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                            histogram.getMaxValue() / NANOS_PER_MILLI);
+                }
+            });
+        }
+    }
+
+    static void write(List<StepResult> steps, LoadTestConfig config, ObjectMapper objectMapper, Path path)
+            throws IOException {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("database", config.database());
+        root.put("books", config.books());
+        root.put("users", config.users());
+        root.put("stepSeconds", config.step().toSeconds());
+        ArrayNode stepsNode = root.putArray("steps");
+        for (StepResult step : steps) {
+            ObjectNode stepNode = stepsNode.addObject();
+            stepNode.put("targetRate", step.targetRate());
+            stepNode.put("achievedRate", step.achievedRate());
+            stepNode.put("requests", step.requests());
+            ObjectNode resourcesNode = stepNode.putObject("resources");
+            resourcesNode.put("peakHeapBytes", step.resources().peakHeapBytes());
+            resourcesNode.put("peakThreads", step.resources().peakThreads());
+            resourcesNode.put("allocatedBytes", step.resources().allocatedBytes());
+            resourcesNode.put("gcCount", step.resources().gcCount());
+            resourcesNode.put("gcMillis", step.resources().gcMillis());
+            ObjectNode endpoints = stepNode.putObject("endpoints");
+            step.latencies().forEach((endpoint, histogram) -> {
+                if (histogram.getTotalCount() > 0) {
+                    ObjectNode node = endpoints.putObject(endpoint.label());
+                    node.put("count", histogram.getTotalCount());
+                    node.put("errors", step.errors().get(endpoint));
+                    node.put("p50Ms", histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI);
+                    node.put("p99Ms", histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI);
+                    node.put("p999Ms", histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI);
+                    node.put("maxMs", histogram.getMaxValue() / NANOS_PER_MILLI);
+                }
+            });
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+    }
+
+    private static Histogram merged(Map<Endpoint, Histogram> latencies) {
+        Histogram all = new Histogram(3);
+        latencies.values().forEach(all::add);
+        return all;
+    }
+}
@@ -0,0 +1,71 @@
+package com.biblioteca.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Polls heap usage and live threads every 100 ms while a step runs, and diffs
+ * allocation and GC counters between start and stop.
+ */
+final class ResourceSampler {
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final long allocatedAtStart = allocatedBytes();
+    private final long gcCountAtStart = gcCount();
+    private final long gcMillisAtStart = gcMillis();
+    private final Thread poller;
+    private volatile boolean running = true;
+    private volatile long peakHeapBytes;
+    private volatile int peakThreads;
+
+    private ResourceSampler() {
+        poller = Thread.ofPlatform().daemon().name("resource-sampler").start(() -> {
+            while (running) {
+                sample();
+                LockSupport.parkNanos(INTERVAL_NANOS);
+            }
+        });
+    }
+
+    static ResourceSampler start() {
+        return new ResourceSampler();
+    }
+
+    ResourceUsage stop() throws InterruptedException {
+        running = false;
+        poller.join();
+        sample();
+        return new ResourceUsage(peakHeapBytes, peakThreads, allocatedBytes() - allocatedAtStart,
+                gcCount() - gcCountAtStart, gcMillis() - gcMillisAtStart);
+    }
+
+    private void sample() {
+        peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+        peakThreads = Math.max(peakThreads, threads.getThreadCount());
+    }
+
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemoryEnabled()) {
+            return hotspot.getTotalThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+}
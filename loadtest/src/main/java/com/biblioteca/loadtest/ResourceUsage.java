@@ -0,0 +1,8 @@
+package com.biblioteca.loadtest;
+
+/**
+ * JVM resource usage over one step. The server and the load generator share the
+ * JVM, so compare steps against each other rather than reading absolute values.
+ */
+record ResourceUsage(long peakHeapBytes, int peakThreads, long allocatedBytes, long gcCount, long gcMillis) {
+}
@@ -0,0 +1,94 @@
+package com.biblioteca.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds the catalog through the public API so the load test starts from the
+ * same state the endpoints would see in production.
+ */
+final class Seeder {
+    private static final int AUTHORS = 100;
+    private static final int PAGE_SIZE = 500;
+
+    private final HttpClient client;
+    private final URI base;
+    private final ObjectMapper objectMapper;
+
+    Seeder(HttpClient client, URI base, ObjectMapper objectMapper) {
+        this.client = client;
+        this.base = base;
+        this.objectMapper = objectMapper;
+    }
+
+    Catalog seed(int books, int users) throws IOException, InterruptedException {
+        Random random = new Random(42L);
+        List<Long> authorIds = new ArrayList<>(AUTHORS);
+        for (int i = 0; i < AUTHORS; i++) {
+            JsonNode author = send(HttpRequest.newBuilder(base.resolve("/api/authors"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"Autor " + i + "\",\"country\":\"España\"}"))
+                    .build());
+            authorIds.add(author.get("id").asLong());
+        }
+
+        StringBuilder ndjson = new StringBuilder(books * 160);
+        for (int i = 0; i < books; i++) {
+            ndjson.append("{\"title\":\"Título de catálogo ").append(i)
+                    .append("\",\"isbn\":\"978-").append(1_000_000_000L + i)
+                    .append("\",\"author\":{\"id\":").append(authorIds.get(random.nextInt(AUTHORS)))
+                    .append("},\"description\":\"Descripción del libro ").append(i)
+                    .append("\",\"copies\":1000000,\"availableCopies\":1000000}\n");
+        }
+        send(HttpRequest.newBuilder(base.resolve("/api/books/bulk"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+
+        StringBuilder csv = new StringBuilder("name,email,memberId,city,active\n");
+        for (int i = 0; i < users; i++) {
+            csv.append("Socio ").append(i).append(",socio").append(i).append("@example.com,M")
+                    .append(100_000 + i).append(",Madrid,true\n");
+        }
+        send(HttpRequest.newBuilder(base.resolve("/api/users/import"))
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+                .build());
+
+        List<Long> bookIds = new ArrayList<>(books);
+        String cursor = null;
+        do {
+            String query = "/api/books?size=" + PAGE_SIZE + (cursor == null ? "" : "&cursor=" + cursor);
+            HttpResponse<String> page = client.send(HttpRequest.newBuilder(base.resolve(query)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            objectMapper.readTree(page.body()).forEach(book -> bookIds.add(book.get("id").asLong()));
+            cursor = page.headers().firstValue("X-Next-Cursor").orElse(null);
+        } while (cursor != null);
+
+        List<Long> userIds = new ArrayList<>(users);
+        send(HttpRequest.newBuilder(base.resolve("/api/users")).GET().build())
+                .forEach(user -> userIds.add(user.get("id").asLong()));
+        return new Catalog(bookIds, userIds);
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    record Catalog(List<Long> bookIds, List<Long> userIds) {
+    }
+}
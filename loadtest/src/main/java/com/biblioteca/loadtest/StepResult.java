@@ -0,0 +1,14 @@
+package com.biblioteca.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+record StepResult(int targetRate, long requests, long elapsedNanos, Map<Endpoint, Histogram> latencies,
+                  Map<Endpoint, Long> errors, ResourceUsage resources) {
+
+    double achievedRate() {
+        return requests / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
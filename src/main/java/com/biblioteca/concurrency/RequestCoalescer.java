@@ -0,0 +1,81 @@
+package com.biblioteca.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing: while a call for a given name and key is running,
+ * identical calls wait for it and share its result (or exception) instead of
+ * running the same query again. Nothing is remembered once the call finishes;
+ * caching stays the job of the cache layer.
+ *
+ * <p>Call it outside any transaction, so waiting callers do not each hold a
+ * pooled connection.
+ */
+@Component
+public class RequestCoalescer {
+    public static final String METRIC = "biblioteca.coalescing.calls";
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collapsed = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public RequestCoalescer(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(name, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(collapsed, name, "collapsed").increment();
+            return (T) await(existing);
+        }
+        counter(executed, name, "executed").increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String outcome) {
+        return counters.computeIfAbsent(name, ignored -> Counter.builder(METRIC)
+                .description("Coalesced lookups, by whether they ran the query or shared another call's result")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.biblioteca.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    public static final String USERS = "users";
+    public static final String AUTHORS = "authors";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${biblioteca.cache.books.max-size:20000}") long booksMaxSize,
+            @Value("${biblioteca.cache.users.max-size:50000}") long usersMaxSize,
+            @Value("${biblioteca.cache.authors.max-size:5000}") long authorsMaxSize,
+            @Value("${biblioteca.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(BOOKS, build(booksMaxSize, ttl));
+        cacheManager.registerCustomCache(USERS, build(usersMaxSize, ttl));
+        cacheManager.registerCustomCache(AUTHORS, build(authorsMaxSize, ttl));
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
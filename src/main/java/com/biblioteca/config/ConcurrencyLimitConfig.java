@@ -0,0 +1,37 @@
+package com.biblioteca.config;
+
+import com.biblioteca.concurrency.ConnectionPoolLimitFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConnectionPoolLimitFilter> connectionPoolLimitFilter(
+            @Value("${biblioteca.concurrency.max-in-flight:10}") int maxInFlight,
+            @Value("${biblioteca.concurrency.acquire-timeout:5s}") Duration acquireTimeout,
+            MeterRegistry registry) {
+        ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(maxInFlight, acquireTimeout);
+        Gauge.builder("biblioteca.concurrency.in-flight", filter, ConnectionPoolLimitFilter::getInFlight)
+                .description("API requests currently holding a concurrency permit")
+                .register(registry);
+        Gauge.builder("biblioteca.concurrency.waiting", filter, ConnectionPoolLimitFilter::getWaiting)
+                .description("API requests waiting for a concurrency permit")
+                .register(registry);
+        FilterRegistrationBean<ConnectionPoolLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
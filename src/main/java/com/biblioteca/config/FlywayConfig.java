@@ -0,0 +1,23 @@
+package com.biblioteca.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Throwaway databases (datagen, integration tests, load tests) start from an empty schema built by the
+ * migrations, the way {@code ddl-auto: create} used to. Needs {@code spring.flyway.clean-disabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.flyway.clean-before-migrate", havingValue = "true")
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy cleanBeforeMigrate() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
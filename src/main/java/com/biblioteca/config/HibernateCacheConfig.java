@@ -0,0 +1,92 @@
+package com.biblioteca.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Second-level cache for Hibernate backed by an embedded Caffeine JCache provider.
+ * Regions are created up front so every one of them is size-bounded; the update
+ * timestamps region never expires, as the query cache requires.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+    static final String CACHE_MANAGER_URI_SCHEME = "biblioteca-hibernate-cache";
+
+    private static final AtomicLong CACHE_MANAGERS = new AtomicLong();
+
+    /**
+     * The provider keeps one manager per URI for the whole JVM, so each application context asks for a
+     * URI of its own; Spring closes the manager with the context.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            ApplicationContext applicationContext,
+            @Value("${biblioteca.hibernate-cache.max-size:10000}") long maxSize,
+            @Value("${biblioteca.hibernate-cache.ttl:30m}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(cacheManagerUri(applicationContext),
+                HibernateCacheConfig.class.getClassLoader());
+        Map<String, Long> regions = Map.of(
+                "biblioteca.author", maxSize,
+                "biblioteca.book", maxSize,
+                "biblioteca.book.isbn", maxSize,
+                "biblioteca.user", maxSize,
+                "biblioteca.user.member-id", maxSize,
+                QUERY_RESULTS_REGION, maxSize / 10);
+        regions.forEach((region, size) -> cacheManager.createCache(region, region(size, ttl)));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(maxSize, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    private static URI cacheManagerUri(ApplicationContext applicationContext) {
+        // Context ids repeat across test contexts (they default to spring.application.name)
+        try {
+            return new URI(CACHE_MANAGER_URI_SCHEME,
+                    applicationContext.getId() + "-" + CACHE_MANAGERS.incrementAndGet(), null);
+        } catch (URISyntaxException ex) {
+            throw new IllegalStateException("Invalid cache manager URI for context " + applicationContext.getId(),
+                    ex);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
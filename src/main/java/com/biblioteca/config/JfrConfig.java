@@ -0,0 +1,28 @@
+package com.biblioteca.config;
+
+import com.biblioteca.jfr.DataOperationAspect;
+import com.biblioteca.jfr.OnDemandRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public DataOperationAspect dataOperationAspect() {
+        return new DataOperationAspect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "biblioteca.profiling.enabled", havingValue = "true")
+    public OnDemandRecorder onDemandRecorder(
+            @Value("${biblioteca.profiling.max-duration:5m}") Duration maxDuration,
+            @Value("${biblioteca.profiling.max-size:100MB}") DataSize maxSize) {
+        return new OnDemandRecorder(maxDuration, maxSize.toBytes());
+    }
+}
@@ -0,0 +1,51 @@
+package com.biblioteca.config;
+
+import com.biblioteca.reactive.ReactiveCatalogRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * R2DBC connection pool for the reactive catalog reads. It is separate from the
+ * Hikari pool, so blocking JPA work never starves the reactive endpoints.
+ */
+@Configuration
+@ConditionalOnProperty(name = "biblioteca.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(
+            @Value("${biblioteca.reactive.url}") String url,
+            @Value("${biblioteca.reactive.username}") String username,
+            @Value("${biblioteca.reactive.password}") String password,
+            @Value("${biblioteca.reactive.pool-size:20}") int poolSize) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("biblioteca-reactive")
+                .initialSize(Math.min(poolSize, 5))
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionFactory reactiveConnectionFactory) {
+        return DatabaseClient.create(reactiveConnectionFactory);
+    }
+
+    @Bean
+    public ReactiveCatalogRepository reactiveCatalogRepository(
+            DatabaseClient reactiveDatabaseClient,
+            @Value("${biblioteca.reactive.fetch-size:256}") int fetchSize) {
+        return new ReactiveCatalogRepository(reactiveDatabaseClient, fetchSize);
+    }
+}
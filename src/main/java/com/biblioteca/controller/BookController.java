@@ -1,24 +1,50 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.dto.BookSearchHit;
+import com.biblioteca.dto.BulkImportResult;
+import com.biblioteca.dto.CursorPage;
+import com.biblioteca.dto.Suggestion;
 import com.biblioteca.model.Book;
+import com.biblioteca.service.BookImportService;
 import com.biblioteca.service.BookService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
 @CrossOrigin(origins = "*")
 public class BookController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private BookImportService bookImportService;
+
     @GetMapping
-    public ResponseEntity<List<Book>> getAllBooks() {
-        return ResponseEntity.ok(bookService.getAllBooks());
+    public ResponseEntity<List<Book>> getAllBooks(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        CursorPage<Book> page = bookService.getBooksPage(cursor, size);
+        if (!page.hasNext()) {
+            return ResponseEntity.ok(page.getItems());
+        }
+        String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNext())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, page.getNext())
+                .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+                .body(page.getItems());
     }
 
     @GetMapping("/{id}")
@@ -28,6 +54,25 @@ public class BookController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/isbn/{isbn}")
+    public ResponseEntity<Book> getBookByIsbn(@PathVariable String isbn) {
+        return bookService.getBookByIsbn(isbn)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<BookSearchHit>> searchBooks(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookService.searchBooks(q, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String prefix,
+                                                    @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookService.suggest(prefix, limit));
+    }
+
     @GetMapping("/available")
     public ResponseEntity<List<Book>> getAvailableBooks() {
         return ResponseEntity.ok(bookService.getAvailableBooks());
@@ -39,6 +84,11 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResult> importBooks(InputStream body) throws IOException {
+        return ResponseEntity.ok(bookImportService.importBooks(body));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book book) {
         Book updated = bookService.updateBook(id, book);
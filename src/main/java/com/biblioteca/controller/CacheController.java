@@ -0,0 +1,67 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.CacheRegionStatistics;
+import com.biblioteca.dto.CacheStatistics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatistics>> getStats() {
+        List<CacheStatistics> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof Cache<?, ?> caffeine) {
+                CacheStats cacheStats = caffeine.stats();
+                stats.add(new CacheStatistics(name, caffeine.estimatedSize(), cacheStats.hitCount(),
+                        cacheStats.missCount(), cacheStats.hitRate(), cacheStats.evictionCount()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/regions")
+    public ResponseEntity<List<CacheRegionStatistics>> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatistics> stats = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            org.hibernate.stat.CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats != null) {
+                stats.add(new CacheRegionStatistics(region, regionStats.getHitCount(), regionStats.getMissCount(),
+                        regionStats.getPutCount(), regionStats.getElementCountInMemory()));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        for (String name : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        entityManagerFactory.getCache().evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
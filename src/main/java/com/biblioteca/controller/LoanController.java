@@ -1,12 +1,21 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.dto.CursorPage;
+import com.biblioteca.dto.LoanHistoryEntry;
 import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
 import com.biblioteca.service.LoanService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -21,6 +30,14 @@ public class LoanController {
         return ResponseEntity.ok(loanService.getAllLoans());
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLoans() {
+        StreamingResponseBody body = out -> loanService.exportLoans(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Loan> getLoanById(@PathVariable Long id) {
         return loanService.getLoanById(id)
@@ -29,8 +46,32 @@ public class LoanController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Loan>> getLoansByUserId(@PathVariable Long userId) {
-        return ResponseEntity.ok(loanService.getLoansByUserId(userId));
+    public ResponseEntity<List<Loan>> getLoansByUserId(@PathVariable Long userId,
+                                                       @RequestParam(defaultValue = "false") boolean fullHistory) {
+        return ResponseEntity.ok(loanService.getLoansByUserId(userId, fullHistory));
+    }
+
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<List<LoanHistoryEntry>> getLoanHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean fullHistory,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<LoanHistoryEntry> page = loanService.getLoanHistory(userId, status, from, to, fullHistory,
+                cursor, size);
+        if (!page.hasNext()) {
+            return ResponseEntity.ok(page.getItems());
+        }
+        String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNext())
+                .toUriString();
+        return ResponseEntity.ok()
+                .header(BookController.NEXT_CURSOR_HEADER, page.getNext())
+                .header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"")
+                .body(page.getItems());
     }
 
     @PostMapping
@@ -39,6 +80,17 @@ public class LoanController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/checkout")
+    public ResponseEntity<Loan> checkout(@RequestParam Long bookId, @RequestParam Long userId) {
+        Loan created = loanService.checkout(bookId, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PostMapping("/{id}/return")
+    public ResponseEntity<Loan> returnLoan(@PathVariable Long id) {
+        return ResponseEntity.ok(loanService.returnLoan(id));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Loan> updateLoan(@PathVariable Long id, @RequestBody Loan loan) {
         Loan updated = loanService.updateLoan(id, loan);
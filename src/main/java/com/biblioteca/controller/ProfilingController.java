@@ -0,0 +1,56 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.RecordingStatus;
+import com.biblioteca.jfr.OnDemandRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/admin/profiling")
+@ConditionalOnProperty(name = "biblioteca.profiling.enabled", havingValue = "true")
+public class ProfilingController {
+    @Autowired
+    private OnDemandRecorder recorder;
+
+    @GetMapping
+    public ResponseEntity<RecordingStatus> getStatus() {
+        return ResponseEntity.ok(recorder.status());
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<RecordingStatus> start(
+            @RequestParam(required = false) Long seconds,
+            @RequestParam(defaultValue = "profile") String settings) {
+        Duration duration = seconds == null ? null : Duration.ofSeconds(seconds);
+        return ResponseEntity.ok(recorder.start(duration, settings));
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop() {
+        Path file = recorder.stop();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.getFileName().toString())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
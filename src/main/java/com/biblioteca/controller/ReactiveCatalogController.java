@@ -0,0 +1,44 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.reactive.ReactiveCatalogRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/reactive")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "biblioteca.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogController {
+    @Autowired
+    private ReactiveCatalogRepository catalogRepository;
+
+    @GetMapping(value = "/books", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Book> getAllBooks() {
+        return catalogRepository.findAllBooks();
+    }
+
+    @GetMapping(value = "/books/available",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Book> getAvailableBooks() {
+        return catalogRepository.findAvailableBooks();
+    }
+
+    @GetMapping("/books/{id}")
+    public Mono<ResponseEntity<Book>> getBookById(@PathVariable Long id) {
+        return catalogRepository.findBookById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/authors", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<Author> getAllAuthors() {
+        return catalogRepository.findAllAuthors();
+    }
+}
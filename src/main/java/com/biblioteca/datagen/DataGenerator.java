@@ -0,0 +1,293 @@
+package com.biblioteca.datagen;
+
+import com.biblioteca.model.LoanStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills an empty schema with a deterministic, production-shaped dataset: Zipf-distributed
+ * book popularity and reader activity, multi-year loan histories and a mix of active,
+ * overdue and returned loans. Rows are streamed with COPY on PostgreSQL.
+ */
+@Component
+@Profile("datagen")
+public class DataGenerator implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    static final int LOAN_PERIOD_DAYS = 14;
+    static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Carlos", "Lucía", "Javier", "María", "Pablo", "Elena", "Diego", "Carmen", "Andrés",
+            "Sofía", "Miguel", "Laura", "Jorge", "Isabel", "Raúl", "Marta", "Sergio", "Paula", "Luis"};
+    private static final String[] LAST_NAMES = {
+            "García", "Martínez", "López", "Sánchez", "Pérez", "Gómez", "Ruiz", "Díaz", "Moreno", "Álvarez",
+            "Romero", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Serrano", "Blanco", "Molina"};
+    private static final String[] COUNTRIES = {
+            "España", "Colombia", "Argentina", "México", "Chile", "Perú", "Uruguay", "Cuba"};
+    private static final String[] CITIES = {
+            "Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao", "Zaragoza", "Málaga", "Granada"};
+    private static final String[] TITLE_WORDS = {
+            "sombra", "viento", "ciudad", "memoria", "mar", "noche", "jardín", "silencio", "río", "tiempo",
+            "casa", "camino", "luz", "invierno", "isla", "espejo", "fuego", "olvido", "tierra", "sueño"};
+    private static final String[] GENRES = {
+            "Novela", "Ensayo", "Poesía", "Relatos", "Crónica", "Biografía", "Teatro", "Misterio"};
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${biblioteca.datagen.seed:42}")
+    private long seed;
+
+    @Value("${biblioteca.datagen.authors:2000}")
+    private int authors;
+
+    @Value("${biblioteca.datagen.books:200000}")
+    private int books;
+
+    @Value("${biblioteca.datagen.users:50000}")
+    private int users;
+
+    @Value("${biblioteca.datagen.loans:2000000}")
+    private long loans;
+
+    @Value("${biblioteca.datagen.book-zipf-exponent:1.1}")
+    private double bookZipfExponent;
+
+    @Value("${biblioteca.datagen.user-zipf-exponent:0.8}")
+    private double userZipfExponent;
+
+    @Value("${biblioteca.datagen.overdue-ratio:0.03}")
+    private double overdueRatio;
+
+    @Value("${biblioteca.datagen.history-days:1095}")
+    private int historyDays;
+
+    @Value("${biblioteca.datagen.exit:true}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            requireEmpty(connection);
+
+            SplittableRandom random = new SplittableRandom(seed);
+            generateAuthors(connection, random.split());
+            int[] copies = generateBooks(connection, random.split());
+            generateUsers(connection, random.split());
+            createLoanPartitions(connection, today);
+            int[] outstanding = generateLoans(connection, random.split(), copies, today);
+            updateAvailableCopies(connection, copies, outstanding);
+            restartSequences(connection);
+            connection.commit();
+            analyze(connection);
+        }
+        log.info("Generated {} authors, {} books, {} users and {} loans in {} s (seed {})", authors, books, users,
+                loans, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), seed);
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void requireEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT count(*) FROM books")) {
+            rows.next();
+            if (rows.getLong(1) > 0) {
+                throw new IllegalStateException("Data generation needs an empty schema; found existing books");
+            }
+        }
+    }
+
+    private void generateAuthors(Connection connection, SplittableRandom random) throws SQLException {
+        try (RowSink sink = RowSink.open(connection, "authors", List.of("id", "name", "country", "birth_year"))) {
+            for (int id = 1; id <= authors; id++) {
+                sink.row(id, pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random),
+                        pick(COUNTRIES, random), 1850 + random.nextInt(150));
+            }
+        }
+        connection.commit();
+        log.info("Loaded {} authors", authors);
+    }
+
+    private int[] generateBooks(Connection connection, SplittableRandom random) throws SQLException {
+        ZipfSampler prolificAuthors = new ZipfSampler(authors, 1.0);
+        int[] copies = new int[books + 1];
+        try (RowSink sink = RowSink.open(connection, "books", List.of("id", "title", "isbn", "author_id",
+                "publication_year", "description", "copies", "available_copies"))) {
+            for (int id = 1; id <= books; id++) {
+                copies[id] = 1 + random.nextInt(6);
+                String title = capitalize(pick(TITLE_WORDS, random)) + " de " + pick(TITLE_WORDS, random)
+                        + " y " + pick(TITLE_WORDS, random);
+                sink.row(id, title, "978-" + (1_000_000_000L + id), prolificAuthors.sample(random) + 1,
+                        1900 + random.nextInt(124), pick(GENRES, random) + " sobre " + pick(TITLE_WORDS, random),
+                        copies[id], copies[id]);
+            }
+        }
+        connection.commit();
+        log.info("Loaded {} books", books);
+        return copies;
+    }
+
+    private void generateUsers(Connection connection, SplittableRandom random) throws SQLException {
+        try (RowSink sink = RowSink.open(connection, "users", List.of("id", "name", "email", "member_id", "city",
+                "active"))) {
+            for (int id = 1; id <= users; id++) {
+                String first = pick(FIRST_NAMES, random);
+                String last = pick(LAST_NAMES, random);
+                sink.row(id, first + " " + last, "socio" + id + "@example.com", String.format("M%07d", id),
+                        pick(CITIES, random), random.nextInt(100) < 95);
+            }
+        }
+        connection.commit();
+        log.info("Loaded {} users", users);
+    }
+
+    private int[] generateLoans(Connection connection, SplittableRandom random, int[] copies, LocalDate today)
+            throws SQLException {
+        ZipfSampler popularity = new ZipfSampler(books, bookZipfExponent);
+        ZipfSampler readers = new ZipfSampler(users, userZipfExponent);
+        int[] bookByRank = permutation(books, random);
+        int[] userByRank = permutation(users, random);
+        int[] outstanding = new int[books + 1];
+
+        try (RowSink sink = RowSink.open(connection, "loans", List.of("id", "book_id", "user_id", "loan_date",
+                "due_date", "return_date", "status"))) {
+            for (long id = 1; id <= loans; id++) {
+                int bookId = bookByRank[popularity.sample(random)];
+                int userId = userByRank[readers.sample(random)];
+                LocalDate loanDate = today.minusDays(random.nextInt(historyDays));
+                LocalDate dueDate = loanDate.plusDays(LOAN_PERIOD_DAYS);
+                LocalDate returnDate = null;
+                LoanStatus status;
+
+                boolean canStayOut = outstanding[bookId] < copies[bookId];
+                if (canStayOut && !dueDate.isBefore(today)) {
+                    status = LoanStatus.ACTIVE;
+                } else if (canStayOut && random.nextDouble() < overdueRatio) {
+                    status = LoanStatus.OVERDUE;
+                } else {
+                    status = LoanStatus.RETURNED;
+                    returnDate = loanDate.plusDays(1 + random.nextInt(LOAN_PERIOD_DAYS + 7));
+                    if (returnDate.isAfter(today)) {
+                        returnDate = today;
+                    }
+                }
+                if (returnDate == null) {
+                    outstanding[bookId]++;
+                }
+                sink.row(id, bookId, userId, loanDate, dueDate, returnDate, status.getCode());
+                if (id % 1_000_000 == 0) {
+                    log.info("Loaded {} of {} loans", id, loans);
+                }
+            }
+        }
+        connection.commit();
+        log.info("Loaded {} loans", loans);
+        return outstanding;
+    }
+
+    /** Monthly partitions for the whole history, so no loan lands in {@code loans_default}. */
+    private void createLoanPartitions(Connection connection, LocalDate today) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT ensure_loan_partitions(?, ?)")) {
+            statement.setObject(1, today.minusDays(historyDays));
+            statement.setObject(2, today);
+            statement.execute();
+        }
+    }
+
+    private void updateAvailableCopies(Connection connection, int[] copies, int[] outstanding) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE books SET available_copies = ? WHERE id = ?")) {
+            int pending = 0;
+            for (int id = 1; id < outstanding.length; id++) {
+                if (outstanding[id] == 0) {
+                    continue;
+                }
+                statement.setInt(1, copies[id] - outstanding[id]);
+                statement.setInt(2, id);
+                statement.addBatch();
+                if (++pending == RowSink.JDBC_BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private void restartSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            restart(statement, "authors_seq", authors);
+            restart(statement, "books_seq", books);
+            restart(statement, "users_seq", users);
+            restart(statement, "loans_seq", loans);
+        }
+    }
+
+    private static void restart(Statement statement, String sequence, long maxId) throws SQLException {
+        statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + SEQUENCE_ALLOCATION_SIZE));
+    }
+
+    private static void analyze(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+            return;
+        }
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE authors, books, users, loans");
+        }
+    }
+
+    private static int[] permutation(int n, SplittableRandom random) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,128 @@
+package com.biblioteca.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bulk row writer for one table: PostgreSQL COPY when the driver supports it,
+ * JDBC batches otherwise.
+ */
+abstract class RowSink implements AutoCloseable {
+    static final int COPY_BUFFER_BYTES = 1 << 20;
+    static final int JDBC_BATCH_SIZE = 5_000;
+
+    protected final List<String> columns;
+    protected long rows;
+
+    RowSink(List<String> columns) {
+        this.columns = columns;
+    }
+
+    static RowSink open(Connection connection, String table, List<String> columns) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new CopySink(connection.unwrap(PGConnection.class), table, columns);
+        }
+        return new BatchSink(connection, table, columns);
+    }
+
+    abstract void row(Object... values) throws SQLException;
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    private static final class CopySink extends RowSink {
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_BYTES);
+
+        CopySink(PGConnection connection, String table, List<String> columns) throws SQLException {
+            super(columns);
+            copyIn = connection.getCopyAPI().copyIn("COPY " + table + " (" + String.join(", ", columns)
+                    + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= COPY_BUFFER_BYTES) {
+                flush();
+            }
+        }
+
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+                buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                buffer.append(text);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (buffer.length() > 0) {
+                flush();
+            }
+            copyIn.endCopy();
+        }
+    }
+
+    private static final class BatchSink extends RowSink {
+        private final PreparedStatement statement;
+        private int pending;
+
+        BatchSink(Connection connection, String table, List<String> columns) throws SQLException {
+            super(columns);
+            statement = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")");
+        }
+
+        @Override
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            rows++;
+            if (++pending == JDBC_BATCH_SIZE) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (statement) {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+    private long imported;
+
+    private int batches;
+
+    private long elapsedMillis;
+
+    private long rowsPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportConflict {
+    private long line;
+
+    private String email;
+
+    private String memberId;
+
+    private String reason;
+}
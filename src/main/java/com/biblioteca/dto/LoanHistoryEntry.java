@@ -0,0 +1,13 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.LoanStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One row of a member's loan history, built directly by the repository query (JPQL constructor
+ * expression), so no loan, book, author or user entity is loaded.
+ */
+public record LoanHistoryEntry(Long id, LocalDate loanDate, LocalDate dueDate, LocalDate returnDate,
+                               LoanStatus status, Long bookId, String bookTitle) {
+}
@@ -0,0 +1,26 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatus {
+    private String name;
+
+    private String state;
+
+    private String settings;
+
+    private Instant startTime;
+
+    private long durationSeconds;
+
+    private long maxSizeBytes;
+
+    private long sizeBytes;
+}
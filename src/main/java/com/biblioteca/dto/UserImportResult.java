@@ -0,0 +1,22 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+    private String method;
+
+    private long received;
+
+    private long imported;
+
+    private long conflicts;
+
+    private List<ImportConflict> conflictSamples;
+}
@@ -0,0 +1,7 @@
+package com.biblioteca.exception;
+
+public class NoCopiesAvailableException extends RuntimeException {
+    public NoCopiesAvailableException(Long bookId) {
+        super("No copies available for book " + bookId);
+    }
+}
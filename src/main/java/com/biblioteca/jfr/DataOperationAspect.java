@@ -0,0 +1,106 @@
+package com.biblioteca.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+/**
+ * Emits a {@link DataOperationEvent} around every service and repository call.
+ * When no recording has the event enabled the cost is one {@code isEnabled()} check.
+ */
+@Aspect
+public class DataOperationAspect {
+    private final Map<Class<?>, String> entityTypes = new ConcurrentHashMap<>();
+
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object aroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, "service");
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record(joinPoint, "repository");
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        DataOperationEvent event = new DataOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            commit(event, joinPoint, layer, "success", result);
+            return result;
+        } catch (Throwable ex) {
+            commit(event, joinPoint, layer, ex.getClass().getSimpleName(), null);
+            throw ex;
+        }
+    }
+
+    private void commit(DataOperationEvent event, ProceedingJoinPoint joinPoint, String layer, String outcome,
+                        Object result) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Object target = joinPoint.getThis();
+        event.layer = layer;
+        event.entityType = entityTypes.computeIfAbsent(target.getClass(), type -> entityType(target, layer));
+        event.operation = signature.getName();
+        event.rowCount = signature.getReturnType() == void.class ? -1 : rowCount(signature.getName(), result);
+        event.outcome = outcome;
+        event.commit();
+    }
+
+    static int rowCount(String operation, Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (operation.startsWith("count") || operation.startsWith("exists")) {
+            return 1;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            return ((Number) result).intValue();
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private static String entityType(Object target, String layer) {
+        if ("repository".equals(layer)) {
+            for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(target)) {
+                Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(type, Repository.class);
+                if (arguments != null && arguments[0] != null) {
+                    return arguments[0].getSimpleName();
+                }
+            }
+            return "Unknown";
+        }
+        String name = AopProxyUtils.ultimateTargetClass(target).getSimpleName();
+        return name.endsWith("Service") ? name.substring(0, name.length() - "Service".length()) : name;
+    }
+}
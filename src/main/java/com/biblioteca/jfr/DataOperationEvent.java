@@ -0,0 +1,34 @@
+package com.biblioteca.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name(DataOperationEvent.NAME)
+@Label("Data Operation")
+@Description("A service or repository call, with the rows it returned or touched")
+@Category({"Biblioteca", "Persistence"})
+@StackTrace(false)
+public class DataOperationEvent extends Event {
+    public static final String NAME = "com.biblioteca.DataOperation";
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Row Count")
+    @Description("Rows returned or affected, -1 when not known")
+    public int rowCount;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception thrown")
+    public String outcome;
+}
@@ -0,0 +1,109 @@
+package com.biblioteca.jfr;
+
+import com.biblioteca.dto.RecordingStatus;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Holds at most one bounded JFR recording at a time. The recording stops on its
+ * own after its duration, so a forgotten start never grows without limit.
+ */
+public class OnDemandRecorder {
+    public static final String RECORDING_NAME = "biblioteca-on-demand";
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    // These carry environment variables, system properties and JVM arguments,
+    // which is where database credentials usually live.
+    private static final Set<String> SENSITIVE_EVENTS = Set.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private Recording recording;
+    private String settings;
+
+    public OnDemandRecorder(Duration maxDuration, long maxSizeBytes) {
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public synchronized RecordingStatus start(Duration duration, String settingsName) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RuntimeException("A recording is already running");
+        }
+        if (!SETTINGS.contains(settingsName)) {
+            throw new RuntimeException("Unknown JFR settings: " + settingsName);
+        }
+        discard();
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        try {
+            recording = new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException ex) {
+            throw new RuntimeException("Could not load JFR settings: " + settingsName, ex);
+        }
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setDuration(bounded);
+        recording.setMaxSize(maxSizeBytes);
+        recording.enable(DataOperationEvent.NAME);
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        recording.start();
+        settings = settingsName;
+        return status();
+    }
+
+    /**
+     * Stops the recording if it is still running and dumps it to a temporary
+     * file that the caller must delete.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new RuntimeException("No recording to stop");
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            discard();
+        }
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return new RecordingStatus(RECORDING_NAME, "NONE", null, null, 0, maxSizeBytes, 0);
+        }
+        Duration duration = recording.getDuration();
+        return new RecordingStatus(recording.getName(), recording.getState().name(), settings,
+                recording.getStartTime(), duration == null ? 0 : duration.toSeconds(), recording.getMaxSize(),
+                recording.getSize());
+    }
+
+    public synchronized void close() {
+        discard();
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDate;
+
+/**
+ * A returned loan moved out of {@code loans} by {@code LoanArchiver}. Rows are only written by the
+ * archiver's SQL, keep their original id and are always {@link LoanStatus#RETURNED}.
+ */
+@Entity
+@Table(name = "loans_archive")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLoan {
+    @Id
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDate loanDate;
+
+    @Column(nullable = false)
+    private LocalDate dueDate;
+
+    private LocalDate returnDate;
+
+    public Loan toLoan() {
+        return new Loan(id, book, user, loanDate, dueDate, returnDate, LoanStatus.RETURNED);
+    }
+}
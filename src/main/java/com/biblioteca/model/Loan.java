@@ -13,7 +13,8 @@ import java.time.LocalDate;
 @AllArgsConstructor
 public class Loan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loans_seq")
+    @SequenceGenerator(name = "loans_seq", sequenceName = "loans_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -33,5 +34,5 @@ public class Loan {
     private LocalDate returnDate;
 
     @Column(nullable = false)
-    private String status = "ACTIVE";
+    private LoanStatus status = LoanStatus.ACTIVE;
 }
@@ -0,0 +1,30 @@
+package com.biblioteca.model;
+
+/**
+ * Lifecycle of a {@link Loan}. Stored as the {@link #getCode() code} in a smallint column (see
+ * {@link LoanStatusConverter}); codes are persisted, so never renumber an existing constant.
+ */
+public enum LoanStatus {
+    ACTIVE(1),
+    OVERDUE(2),
+    RETURNED(3);
+
+    private final short code;
+
+    LoanStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static LoanStatus fromCode(short code) {
+        for (LoanStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown loan status code: " + code);
+    }
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class LoanStatusConverter implements AttributeConverter<LoanStatus, Short> {
+    @Override
+    public Short convertToDatabaseColumn(LoanStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public LoanStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : LoanStatus.fromCode(code);
+    }
+}
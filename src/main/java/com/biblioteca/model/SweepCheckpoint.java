@@ -0,0 +1,32 @@
+package com.biblioteca.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a chunked maintenance job: the last loan id it has processed for {@code runDate}.
+ * Updated in the same transaction as each chunk, so a restarted job resumes where it stopped.
+ */
+@Entity
+@Table(name = "sweep_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Long lastId = 0L;
+
+    @Column(nullable = false)
+    private LocalDate runDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,65 @@
+package com.biblioteca.reactive;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only catalog queries over R2DBC. Rows are fetched in batches of
+ * {@code fetchSize}, so a slow consumer holds back the database cursor instead of
+ * buffering the whole table in memory.
+ */
+public class ReactiveCatalogRepository {
+    private static final String BOOK_COLUMNS = "SELECT b.id, b.title, b.isbn, b.publication_year, b.description, "
+            + "b.copies, b.available_copies, a.id AS author_id, a.name AS author_name, "
+            + "a.country AS author_country, a.birth_year AS author_birth_year "
+            + "FROM books b JOIN authors a ON a.id = b.author_id ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<Book> findAllBooks() {
+        return databaseClient.sql(BOOK_COLUMNS + "ORDER BY b.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+    }
+
+    public Flux<Book> findAvailableBooks() {
+        return databaseClient.sql(BOOK_COLUMNS + "WHERE b.available_copies > 0 ORDER BY b.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveCatalogRepository::toBook)
+                .all();
+    }
+
+    public Mono<Book> findBookById(Long id) {
+        return databaseClient.sql(BOOK_COLUMNS + "WHERE b.id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogRepository::toBook)
+                .one();
+    }
+
+    public Flux<Author> findAllAuthors() {
+        return databaseClient.sql("SELECT id, name, country, birth_year FROM authors ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> new Author(row.get("id", Long.class), row.get("name", String.class),
+                        row.get("country", String.class), row.get("birth_year", Integer.class)))
+                .all();
+    }
+
+    private static Book toBook(Readable row) {
+        Author author = new Author(row.get("author_id", Long.class), row.get("author_name", String.class),
+                row.get("author_country", String.class), row.get("author_birth_year", Integer.class));
+        return new Book(row.get("id", Long.class), row.get("title", String.class), row.get("isbn", String.class),
+                author, row.get("publication_year", Integer.class), row.get("description", String.class),
+                row.get("copies", Integer.class), row.get("available_copies", Integer.class));
+    }
+}
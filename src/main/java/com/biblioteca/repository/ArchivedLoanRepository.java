@@ -0,0 +1,53 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.dto.LoanHistoryEntry;
+import com.biblioteca.model.ArchivedLoan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+    interface ArchiveBatch {
+        long getMoved();
+        Long getLastId();
+    }
+
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
+    List<ArchivedLoan> findByUserId(Long userId);
+
+    /**
+     * Archived counterpart of {@link LoanRepository#findHistoryByUserId}; every archived loan is returned.
+     */
+    @Query("select new com.biblioteca.dto.LoanHistoryEntry(a.id, a.loanDate, a.dueDate, a.returnDate, "
+            + "com.biblioteca.model.LoanStatus.RETURNED, b.id, b.title) from ArchivedLoan a join a.book b "
+            + "where a.user.id = :userId and a.loanDate between :from and :to "
+            + "and a.loanDate <= :afterDate "
+            + "and (a.loanDate < :afterDate or (a.loanDate = :afterDate and a.id < :afterId)) "
+            + "order by a.loanDate desc, a.id desc")
+    List<LoanHistoryEntry> findHistoryByUserId(@Param("userId") Long userId,
+                                               @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Moves up to {@code limit} loans with the given status and a loan date before {@code cutoff}, in id
+     * order after {@code afterId}, from {@code loans} into {@code loans_archive}. PostgreSQL only.
+     */
+    @Query(nativeQuery = true, value = "WITH batch AS ("
+            + "SELECT id FROM loans WHERE status = :status AND loan_date < :cutoff AND id > :afterId "
+            + "ORDER BY id LIMIT :limit), "
+            + "moved AS (DELETE FROM loans l USING batch b WHERE l.id = b.id AND l.loan_date < :cutoff "
+            + "RETURNING l.id, l.book_id, l.user_id, l.loan_date, l.due_date, l.return_date), "
+            + "archived AS (INSERT INTO loans_archive (id, book_id, user_id, loan_date, due_date, return_date) "
+            + "SELECT id, book_id, user_id, loan_date, due_date, return_date FROM moved RETURNING id) "
+            + "SELECT count(*) AS moved, max(id) AS \"lastId\" FROM archived")
+    ArchiveBatch archive(@Param("status") short status, @Param("cutoff") LocalDate cutoff,
+                         @Param("afterId") long afterId, @Param("limit") int limit);
+}
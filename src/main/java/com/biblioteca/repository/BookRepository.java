@@ -1,16 +1,44 @@
 package com.biblioteca.repository;
 
 import com.biblioteca.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+    @Override
+    @EntityGraph(attributePaths = "author")
+    List<Book> findAll();
+
+    @EntityGraph(attributePaths = "author")
     List<Book> findByTitle(String title);
+
     Optional<Book> findByIsbn(String isbn);
+
+    @EntityGraph(attributePaths = "author")
     List<Book> findByAuthorId(Long authorId);
+
+    @EntityGraph(attributePaths = "author")
+    @Transactional(readOnly = true)
     List<Book> findByAvailableCopiesGreaterThan(Integer copies);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.availableCopies = b.availableCopies - 1 where b.id = :id and b.availableCopies > 0")
+    int decrementAvailableCopies(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.availableCopies = b.availableCopies + 1 where b.id = :id and b.availableCopies < b.copies")
+    int incrementAvailableCopies(@Param("id") Long id);
 }
@@ -1,15 +1,92 @@
 package com.biblioteca.repository;
 
+import com.biblioteca.dto.LoanHistoryEntry;
 import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
+    interface BookLoanCount {
+        Long getBookId();
+        long getLoans();
+    }
+
+    @Override
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
+    List<Loan> findAll();
+
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
     List<Loan> findByUserId(Long userId);
+
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
     List<Loan> findByBookId(Long bookId);
-    List<Loan> findByStatus(String status);
-    List<Loan> findByUserIdAndStatus(Long userId, String status);
+
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
+    List<Loan> findByStatus(LoanStatus status);
+
+    @EntityGraph(attributePaths = {"book", "book.author", "user"})
+    List<Loan> findByUserIdAndStatus(Long userId, LoanStatus status);
+
+    /**
+     * One page of a member's loans with the given statuses and a loan date in {@code [from, to]}, newest
+     * first, starting after the keyset {@code (afterDate, afterId)}. Only the columns of
+     * {@link LoanHistoryEntry} are read; no entity is loaded. The redundant {@code loanDate <= :afterDate}
+     * gives the index scan its upper bound; the {@code or} alone is only applied as a filter, and a deep
+     * page would re-read every newer loan of the member.
+     */
+    @Query("select new com.biblioteca.dto.LoanHistoryEntry(l.id, l.loanDate, l.dueDate, l.returnDate, l.status, "
+            + "b.id, b.title) from Loan l join l.book b "
+            + "where l.user.id = :userId and l.status in :statuses and l.loanDate between :from and :to "
+            + "and l.loanDate <= :afterDate "
+            + "and (l.loanDate < :afterDate or (l.loanDate = :afterDate and l.id < :afterId)) "
+            + "order by l.loanDate desc, l.id desc")
+    List<LoanHistoryEntry> findHistoryByUserId(@Param("userId") Long userId,
+                                               @Param("statuses") Collection<LoanStatus> statuses,
+                                               @Param("from") LocalDate from, @Param("to") LocalDate to,
+                                               @Param("afterDate") LocalDate afterDate,
+                                               @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select l.book.id as bookId, count(l) as loans from Loan l group by l.book.id")
+    List<BookLoanCount> countLoansByBook();
+
+    @Query("select l.book.id from Loan l where l.id = :id")
+    Optional<Long> findBookIdById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Loan l set l.status = com.biblioteca.model.LoanStatus.RETURNED, l.returnDate = :returnDate "
+            + "where l.id = :id and l.status <> com.biblioteca.model.LoanStatus.RETURNED")
+    int markReturned(@Param("id") Long id, @Param("returnDate") LocalDate returnDate);
+
+    @Query("select max(l.id) from Loan l")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Query("update Loan l set l.status = com.biblioteca.model.LoanStatus.OVERDUE "
+            + "where l.id > :fromId and l.id <= :toId and l.status = com.biblioteca.model.LoanStatus.ACTIVE "
+            + "and l.dueDate < :today")
+    int markOverdue(@Param("fromId") long fromId, @Param("toId") long toId, @Param("today") LocalDate today);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select l from Loan l join fetch l.book b join fetch b.author join fetch l.user order by l.id")
+    Stream<Loan> streamAllForExport();
 }
@@ -0,0 +1,18 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.model.SweepCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from SweepCheckpoint c where c.name = :name")
+    Optional<SweepCheckpoint> findForUpdate(@Param("name") String name);
+}
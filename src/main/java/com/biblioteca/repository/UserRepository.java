@@ -4,10 +4,13 @@ import com.biblioteca.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByMemberId(String memberId);
+    List<User> findByEmailInOrMemberIdIn(Collection<String> emails, Collection<String> memberIds);
 }
@@ -0,0 +1,6 @@
+package com.biblioteca.routing;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,51 @@
+package com.biblioteca.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the JPA
+ * transaction manager opens its connection before the read-only flag is bound.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = registry.counter("biblioteca.datasource.routed", "role", "primary");
+        this.replicaConnections = registry.counter("biblioteca.datasource.routed", "role", "replica");
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRole role = route();
+        (role == DataSourceRole.REPLICA ? replicaConnections : primaryConnections).increment();
+        return role;
+    }
+
+    private DataSourceRole route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                RoutingContext.markWrite();
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (RoutingContext.isPinnedToPrimary() || !lagMonitor.isUsable()) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+}
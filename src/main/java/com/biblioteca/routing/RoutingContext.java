@@ -0,0 +1,40 @@
+package com.biblioteca.routing;
+
+/**
+ * Per-request routing state. A request is pinned to the primary when the client
+ * wrote recently, and becomes pinned as soon as it writes itself.
+ */
+public final class RoutingContext {
+    private static final ThreadLocal<RoutingContext> CURRENT = new ThreadLocal<>();
+
+    private final Runnable onFirstWrite;
+    private boolean pinnedToPrimary;
+    private boolean wrote;
+
+    private RoutingContext(boolean pinnedToPrimary, Runnable onFirstWrite) {
+        this.pinnedToPrimary = pinnedToPrimary;
+        this.onFirstWrite = onFirstWrite;
+    }
+
+    public static void begin(boolean pinnedToPrimary, Runnable onFirstWrite) {
+        CURRENT.set(new RoutingContext(pinnedToPrimary, onFirstWrite));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static boolean isPinnedToPrimary() {
+        RoutingContext context = CURRENT.get();
+        return context != null && context.pinnedToPrimary;
+    }
+
+    static void markWrite() {
+        RoutingContext context = CURRENT.get();
+        if (context != null && !context.wrote) {
+            context.wrote = true;
+            context.pinnedToPrimary = true;
+            context.onFirstWrite.run();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.biblioteca.search;
+
+import com.biblioteca.dto.BookSearchHit;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over book titles and descriptions.
+ *
+ * <p>Every indexed book gets an internal ordinal; posting lists store ordinals in
+ * ascending order together with a per-term weight, so a query is the intersection
+ * of its term lists, walked from the shortest one and scored with BM25. Updates
+ * append a new ordinal and tombstone the old one; tombstones are compacted away
+ * once they make up a quarter of the index.
+ */
+@Component
+public class BookSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int REBUILD_PAGE_SIZE = 1_000;
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1_024;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet tombstones = new BitSet();
+    private long[] bookIds = new long[1_024];
+    private String[] titles = new String[1_024];
+    private int[] lengths = new int[1_024];
+    private int ordinalCount;
+    private int tombstoneCount;
+    private long totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        clear();
+        long afterId = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Book book : page) {
+                index(book);
+                afterId = book.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        log.info("Search index built with {} books in {} ms", size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        Map<String, Integer> termWeights = new LinkedHashMap<>();
+        for (String term : TextNormalizer.tokenize(book.getTitle())) {
+            termWeights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : TextNormalizer.tokenize(book.getDescription())) {
+            termWeights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        int length = termWeights.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(book.getId());
+            int ordinal = ordinalCount++;
+            ensureCapacity(ordinalCount);
+            bookIds[ordinal] = book.getId();
+            titles[ordinal] = book.getTitle();
+            lengths[ordinal] = length;
+            totalLength += length;
+            ordinals.put(book.getId(), ordinal);
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new PostingList()).add(ordinal, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            tombstones.clear();
+            Arrays.fill(titles, null);
+            ordinalCount = 0;
+            tombstoneCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSearchHit> search(String query, int limit) {
+        List<String> terms = TextNormalizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            int liveDocs = ordinals.size();
+            double averageLength = liveDocs == 0 ? 1.0 : Math.max(1.0, (double) totalLength / liveDocs);
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                int documentFrequency = Math.min(lists.get(i).size, liveDocs);
+                idf[i] = Math.log(1.0 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            }
+
+            PriorityQueue<BookSearchHit> top = new PriorityQueue<>(limit,
+                    Comparator.comparingDouble(BookSearchHit::getScore));
+            PostingList shortest = lists.get(0);
+            int[] cursors = new int[lists.size()];
+            candidates:
+            for (int i = 0; i < shortest.size; i++) {
+                int ordinal = shortest.docs[i];
+                if (tombstones.get(ordinal)) {
+                    continue;
+                }
+                double score = bm25(shortest.weights[i], idf[0], lengths[ordinal], averageLength);
+                for (int l = 1; l < lists.size(); l++) {
+                    PostingList other = lists.get(l);
+                    int position = other.seek(cursors[l], ordinal);
+                    cursors[l] = position;
+                    if (position >= other.size || other.docs[position] != ordinal) {
+                        continue candidates;
+                    }
+                    score += bm25(other.weights[position], idf[l], lengths[ordinal], averageLength);
+                }
+                if (top.size() < limit) {
+                    top.add(new BookSearchHit(bookIds[ordinal], titles[ordinal], score));
+                } else if (score > top.peek().getScore()) {
+                    top.poll();
+                    top.add(new BookSearchHit(bookIds[ordinal], titles[ordinal], score));
+                }
+            }
+
+            List<BookSearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(BookSearchHit::getScore).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static double bm25(int weight, double idf, int length, double averageLength) {
+        return idf * (weight * (K1 + 1)) / (weight + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void removeLocked(Long bookId) {
+        Integer ordinal = ordinals.remove(bookId);
+        if (ordinal == null) {
+            return;
+        }
+        tombstones.set(ordinal);
+        tombstoneCount++;
+        totalLength -= lengths[ordinal];
+        titles[ordinal] = null;
+        if (tombstoneCount >= MIN_TOMBSTONES_TO_COMPACT && tombstoneCount * 4 >= ordinalCount) {
+            compactLocked();
+        }
+    }
+
+    private void compactLocked() {
+        int[] remap = new int[ordinalCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (tombstones.get(ordinal)) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = next;
+            bookIds[next] = bookIds[ordinal];
+            titles[next] = titles[ordinal];
+            lengths[next] = lengths[ordinal];
+            next++;
+        }
+        Arrays.fill(titles, next, ordinalCount, null);
+        ordinals.replaceAll((bookId, ordinal) -> remap[ordinal]);
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+        tombstones.clear();
+        tombstoneCount = 0;
+        ordinalCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= bookIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, bookIds.length + (bookIds.length >> 1));
+        bookIds = Arrays.copyOf(bookIds, newLength);
+        titles = Arrays.copyOf(titles, newLength);
+        lengths = Arrays.copyOf(lengths, newLength);
+    }
+
+    private static final class PostingList {
+        private int[] docs = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int ordinal, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = ordinal;
+            weights[size] = (byte) Math.min(weight, Byte.MAX_VALUE);
+            size++;
+        }
+
+        int seek(int from, int ordinal) {
+            int position = Arrays.binarySearch(docs, from, size, ordinal);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[docs[i]];
+                if (ordinal >= 0) {
+                    docs[kept] = ordinal;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
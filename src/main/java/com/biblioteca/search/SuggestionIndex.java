@@ -0,0 +1,705 @@
+package com.biblioteca.search;
+
+import com.biblioteca.dto.Suggestion;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix index over normalized book titles and author names for autocomplete.
+ *
+ * <p>The bulk of the entries live in an immutable snapshot: normalized keys and
+ * display labels are packed as UTF-8 into two byte arenas sorted by key, so a
+ * prefix maps to one contiguous range found by binary search. Writes go to a small
+ * sorted overlay and mark the snapshot slot they replace; the overlay is folded
+ * into a fresh snapshot once it grows past an eighth of it.
+ *
+ * <p>Every prefix that covers more than {@link #BUCKET_MIN_RANGE} snapshot entries
+ * has a bucket holding its {@link #BUCKET_SIZE} most popular entries, so short
+ * prefixes cost a binary search plus a look at the bucket instead of a walk over
+ * the whole range. Narrower ranges are still scanned.
+ *
+ * <p>Popularity counters are atomic, so {@link #recordLoan} only needs the shared
+ * read lock: loans never wait for each other or block suggestion reads.
+ *
+ * <p>{@link #rebuild} reads the catalog without holding the lock, so writes keep
+ * landing in the current snapshot meanwhile. They are also logged and replayed
+ * onto the rebuilt snapshot when it is swapped in. A loan that commits while the
+ * counts are being read may therefore be counted twice, which only nudges ranking.
+ */
+@Component
+public class SuggestionIndex {
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    public static final String BOOK = "BOOK";
+    public static final String AUTHOR = "AUTHOR";
+
+    private static final int REBUILD_PAGE_SIZE = 1_000;
+    private static final int MIN_CHANGES_TO_COMPACT = 1_024;
+    static final int BUCKET_MIN_RANGE = 512;
+    static final int BUCKET_SIZE = 64;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> overlay = new HashMap<>();
+    private final TreeMap<String, Entry> overlayByKey = new TreeMap<>();
+    private final BitSet superseded = new BitSet();
+    private int supersededCount;
+    private Snapshot snapshot = Snapshot.build(new ArrayList<>());
+    /** Writes made while a rebuild reads the catalog; null otherwise. Set and drained under the write lock. */
+    private Queue<Runnable> writesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new ConcurrentLinkedQueue<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Snapshot rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            snapshot = rebuilt;
+            overlay.clear();
+            overlayByKey.clear();
+            superseded.clear();
+            supersededCount = 0;
+            replayed = writesDuringRebuild.size();
+            for (Runnable write : writesDuringRebuild) {
+                write.run();
+            }
+            writesDuringRebuild = null;
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long bytes = estimatedMemoryBytes();
+        log.info("Suggestion index built with {} entries in {} ms, {} writes replayed, ~{} KB "
+                + "(~{} MB per million entries)", rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), replayed, bytes / 1024,
+                rebuilt.size() == 0 ? 0 : bytes * 1_000_000L / rebuilt.size() / (1024 * 1024));
+    }
+
+    private Snapshot load() {
+        Map<Long, Integer> loansByBook = new HashMap<>();
+        for (LoanRepository.BookLoanCount count : loanRepository.countLoansByBook()) {
+            loansByBook.put(count.getBookId(), (int) Math.min(Integer.MAX_VALUE, count.getLoans()));
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        Map<Long, Integer> loansByAuthor = new HashMap<>();
+        long afterId = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Book book : page) {
+                int popularity = loansByBook.getOrDefault(book.getId(), 0);
+                addEntry(entries, bookEntryId(book.getId()), book.getTitle(), popularity);
+                if (book.getAuthor() != null) {
+                    loansByAuthor.merge(book.getAuthor().getId(), popularity, Integer::sum);
+                }
+                afterId = book.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        for (Author author : authorRepository.findAll()) {
+            addEntry(entries, authorEntryId(author.getId()), author.getName(),
+                    loansByAuthor.getOrDefault(author.getId(), 0));
+        }
+
+        return Snapshot.build(entries);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        byte[] prefixBytes = normalized.getBytes(StandardCharsets.UTF_8);
+
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            int from = current.lowerBound(prefixBytes);
+            int to = current.upperBound(prefixBytes, from);
+            PriorityQueue<Candidate> top = null;
+            if (to - from > BUCKET_MIN_RANGE && limit <= BUCKET_SIZE) {
+                top = fromBucket(current, current.bucket(prefixBytes.length, from), limit);
+            }
+            if (top == null) {
+                top = scan(current, from, to, limit);
+            }
+            for (Entry entry : overlayByKey.subMap(normalized, normalized + Character.MAX_VALUE).values()) {
+                int popularity = entry.popularity.get();
+                if (top.size() < limit || popularity > top.peek().popularity()) {
+                    offer(top, new Candidate(entry.entryId, popularity, entry.label), limit);
+                }
+            }
+
+            List<Suggestion> suggestions = new ArrayList<>(top.size());
+            for (Candidate candidate : top) {
+                suggestions.add(new Suggestion(type(candidate.entryId()), sourceId(candidate.entryId()),
+                        candidate.label(), candidate.popularity()));
+            }
+            suggestions.sort(Comparator.comparingInt(Suggestion::getPopularity).reversed()
+                    .thenComparing(Suggestion::getText));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top {@code limit} live entries of a bucket, or null when superseded entries in it leave fewer than
+     * {@code limit}: the ones that would replace them are not in the bucket, so the caller scans instead.
+     */
+    private PriorityQueue<Candidate> fromBucket(Snapshot current, AtomicReference<int[]> bucket, int limit) {
+        if (bucket == null) {
+            return null;
+        }
+        int[] positions = bucket.get();
+        PriorityQueue<Candidate> top = newTop(limit);
+        int live = 0;
+        for (int position : positions) {
+            if (superseded.get(position)) {
+                continue;
+            }
+            live++;
+            int popularity = current.popularity.get(position);
+            if (top.size() < limit || popularity > top.peek().popularity()) {
+                offer(top, new Candidate(current.entryIds[position], popularity, current.label(position)), limit);
+            }
+        }
+        return live < limit && live < positions.length ? null : top;
+    }
+
+    private PriorityQueue<Candidate> scan(Snapshot current, int from, int to, int limit) {
+        PriorityQueue<Candidate> top = newTop(limit);
+        for (int i = from; i < to; i++) {
+            if (superseded.get(i)) {
+                continue;
+            }
+            int popularity = current.popularity.get(i);
+            if (top.size() < limit || popularity > top.peek().popularity()) {
+                offer(top, new Candidate(current.entryIds[i], popularity, current.label(i)), limit);
+            }
+        }
+        return top;
+    }
+
+    public void upsertBook(Book book) {
+        if (book != null && book.getId() != null) {
+            upsert(bookEntryId(book.getId()), book.getTitle());
+        }
+    }
+
+    public void upsertAuthor(Author author) {
+        if (author != null && author.getId() != null) {
+            upsert(authorEntryId(author.getId()), author.getName());
+        }
+    }
+
+    public void removeBook(Long bookId) {
+        remove(bookEntryId(bookId));
+    }
+
+    public void removeAuthor(Long authorId) {
+        remove(authorEntryId(authorId));
+    }
+
+    public void recordLoan(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        long bookEntryId = bookEntryId(book.getId());
+        Long authorEntryId = book.getAuthor() != null && book.getAuthor().getId() != null
+                ? authorEntryId(book.getAuthor().getId()) : null;
+        lock.readLock().lock();
+        try {
+            addPopularity(bookEntryId);
+            if (authorEntryId != null) {
+                addPopularity(authorEntryId);
+            }
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(() -> {
+                    addPopularity(bookEntryId);
+                    if (authorEntryId != null) {
+                        addPopularity(authorEntryId);
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return snapshot.size() - supersededCount + overlay.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long overlayBytes = 0;
+            for (Entry entry : overlay.values()) {
+                overlayBytes += 160 + 2L * (entry.key.length() + entry.label.length());
+            }
+            return snapshot.estimatedBytes() + superseded.size() / 8 + overlayBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        String folded = TextNormalizer.fold(text);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean separator = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private void upsert(long entryId, String label) {
+        String key = normalize(label);
+        lock.writeLock().lock();
+        try {
+            upsertLocked(entryId, key, label);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(() -> upsertLocked(entryId, key, label));
+            }
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(long entryId, String key, String label) {
+        int popularity = detachLocked(entryId);
+        if (!key.isEmpty()) {
+            Entry entry = new Entry(entryId, key, label, Math.max(popularity, 0));
+            overlay.put(entryId, entry);
+            overlayByKey.put(entry.sortKey(), entry);
+        }
+    }
+
+    private void remove(long entryId) {
+        lock.writeLock().lock();
+        try {
+            detachLocked(entryId);
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.add(() -> detachLocked(entryId));
+            }
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int detachLocked(long entryId) {
+        Entry pending = overlay.remove(entryId);
+        if (pending != null) {
+            overlayByKey.remove(pending.sortKey());
+            return pending.popularity.get();
+        }
+        int position = snapshot.positionOf(entryId);
+        if (position >= 0 && !superseded.get(position)) {
+            superseded.set(position);
+            supersededCount++;
+            return snapshot.popularity.get(position);
+        }
+        return -1;
+    }
+
+    /**
+     * Caller holds the read lock: the overlay and the superseded set only change under the write lock, and
+     * the counters themselves are atomic.
+     */
+    private void addPopularity(long entryId) {
+        Entry pending = overlay.get(entryId);
+        if (pending != null) {
+            pending.popularity.incrementAndGet();
+            return;
+        }
+        int position = snapshot.positionOf(entryId);
+        if (position >= 0 && !superseded.get(position)) {
+            snapshot.popularity.incrementAndGet(position);
+            snapshot.promote(position);
+        }
+    }
+
+    private void compactIfNeededLocked() {
+        int changes = overlay.size() + supersededCount;
+        if (changes < MIN_CHANGES_TO_COMPACT || changes * 8 < snapshot.size()) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(snapshot.size() - supersededCount + overlay.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!superseded.get(i)) {
+                entries.add(new Entry(snapshot.entryIds[i], snapshot.key(i), snapshot.label(i),
+                        snapshot.popularity.get(i)));
+            }
+        }
+        entries.addAll(overlay.values());
+        snapshot = Snapshot.build(entries);
+        overlay.clear();
+        overlayByKey.clear();
+        superseded.clear();
+        supersededCount = 0;
+    }
+
+    private static void addEntry(List<Entry> entries, long entryId, String label, int popularity) {
+        String key = normalize(label);
+        if (!key.isEmpty()) {
+            entries.add(new Entry(entryId, key, label, popularity));
+        }
+    }
+
+    private static PriorityQueue<Candidate> newTop(int limit) {
+        return new PriorityQueue<>(limit, Comparator.comparingInt(Candidate::popularity));
+    }
+
+    private static void offer(PriorityQueue<Candidate> top, Candidate candidate, int limit) {
+        top.add(candidate);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private static long bookEntryId(Long bookId) {
+        return bookId << 1;
+    }
+
+    private static long authorEntryId(Long authorId) {
+        return (authorId << 1) | 1L;
+    }
+
+    private static String type(long entryId) {
+        return (entryId & 1L) == 0 ? BOOK : AUTHOR;
+    }
+
+    private static Long sourceId(long entryId) {
+        return entryId >>> 1;
+    }
+
+    private record Candidate(long entryId, int popularity, String label) {
+    }
+
+    private static final class Entry {
+        private final long entryId;
+        private final String key;
+        private final String label;
+        private final AtomicInteger popularity;
+
+        Entry(long entryId, String key, String label, int popularity) {
+            this.entryId = entryId;
+            this.key = key;
+            this.label = label;
+            this.popularity = new AtomicInteger(popularity);
+        }
+
+        String sortKey() {
+            return key + '\u0000' + entryId;
+        }
+    }
+
+    private static final class Snapshot {
+        private final byte[] keys;
+        private final int[] keyOffsets;
+        private final byte[] labels;
+        private final int[] labelOffsets;
+        private final long[] entryIds;
+        private final AtomicIntegerArray popularity;
+        private final long[] sortedEntryIds;
+        private final int[] positions;
+        private final Map<Long, AtomicReference<int[]>> buckets = new HashMap<>();
+
+        private Snapshot(byte[] keys, int[] keyOffsets, byte[] labels, int[] labelOffsets,
+                         long[] entryIds, AtomicIntegerArray popularity, long[] sortedEntryIds, int[] positions) {
+            this.keys = keys;
+            this.keyOffsets = keyOffsets;
+            this.labels = labels;
+            this.labelOffsets = labelOffsets;
+            this.entryIds = entryIds;
+            this.popularity = popularity;
+            this.sortedEntryIds = sortedEntryIds;
+            this.positions = positions;
+        }
+
+        static Snapshot build(List<Entry> entries) {
+            int size = entries.size();
+            byte[][] keyBytes = new byte[size][];
+            byte[][] labelBytes = new byte[size][];
+            Integer[] order = new Integer[size];
+            int keyLength = 0;
+            int labelLength = 0;
+            for (int i = 0; i < size; i++) {
+                keyBytes[i] = entries.get(i).key.getBytes(StandardCharsets.UTF_8);
+                labelBytes[i] = entries.get(i).label.getBytes(StandardCharsets.UTF_8);
+                keyLength += keyBytes[i].length;
+                labelLength += labelBytes[i].length;
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keyBytes[a], keyBytes[b]));
+
+            byte[] keys = new byte[keyLength];
+            int[] keyOffsets = new int[size + 1];
+            byte[] labels = new byte[labelLength];
+            int[] labelOffsets = new int[size + 1];
+            long[] entryIds = new long[size];
+            AtomicIntegerArray popularity = new AtomicIntegerArray(size);
+            for (int position = 0; position < size; position++) {
+                int source = order[position];
+                System.arraycopy(keyBytes[source], 0, keys, keyOffsets[position], keyBytes[source].length);
+                keyOffsets[position + 1] = keyOffsets[position] + keyBytes[source].length;
+                System.arraycopy(labelBytes[source], 0, labels, labelOffsets[position], labelBytes[source].length);
+                labelOffsets[position + 1] = labelOffsets[position] + labelBytes[source].length;
+                entryIds[position] = entries.get(source).entryId;
+                popularity.set(position, entries.get(source).popularity.get());
+            }
+
+            Integer[] byEntryId = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                byEntryId[i] = i;
+            }
+            Arrays.sort(byEntryId, Comparator.comparingLong(position -> entryIds[position]));
+            long[] sortedEntryIds = new long[size];
+            int[] positions = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedEntryIds[i] = entryIds[byEntryId[i]];
+                positions[i] = byEntryId[i];
+            }
+            Snapshot snapshot = new Snapshot(keys, keyOffsets, labels, labelOffsets, entryIds, popularity,
+                    sortedEntryIds, positions);
+            snapshot.buildBuckets();
+            return snapshot;
+        }
+
+        /**
+         * Walks the prefix tree implied by the sorted keys, one byte deeper at a time, and fills a bucket
+         * for every range wider than {@link #BUCKET_MIN_RANGE}. Narrower ranges have no deeper buckets.
+         */
+        private void buildBuckets() {
+            ArrayDeque<int[]> pending = new ArrayDeque<>();
+            pending.push(new int[] {0, size(), 0});
+            while (!pending.isEmpty()) {
+                int[] range = pending.pop();
+                int depth = range[2];
+                int child = range[0];
+                while (child < range[1] && keyOffsets[child + 1] - keyOffsets[child] == depth) {
+                    child++;
+                }
+                while (child < range[1]) {
+                    byte next = keys[keyOffsets[child] + depth];
+                    int end = child + 1;
+                    while (end < range[1] && keys[keyOffsets[end] + depth] == next) {
+                        end++;
+                    }
+                    if (end - child > BUCKET_MIN_RANGE) {
+                        buckets.put(bucketKey(depth + 1, child), new AtomicReference<>(mostPopular(child, end)));
+                        pending.push(new int[] {child, end, depth + 1});
+                    }
+                    child = end;
+                }
+            }
+        }
+
+        private int[] mostPopular(int from, int to) {
+            PriorityQueue<Integer> top = new PriorityQueue<>(BUCKET_SIZE + 1,
+                    Comparator.comparingInt(popularity::get));
+            for (int i = from; i < to; i++) {
+                if (top.size() < BUCKET_SIZE || popularity.get(i) > popularity.get(top.peek())) {
+                    top.add(i);
+                    if (top.size() > BUCKET_SIZE) {
+                        top.poll();
+                    }
+                }
+            }
+            return top.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        private static long bucketKey(int depth, int from) {
+            return ((long) depth << 32) | from;
+        }
+
+        AtomicReference<int[]> bucket(int depth, int from) {
+            return buckets.get(bucketKey(depth, from));
+        }
+
+        /**
+         * Called after {@code position} gained popularity: it takes the place of the least popular entry in
+         * every bucket on its key's path that it now beats. Lock-free; concurrent promotions retry.
+         */
+        void promote(int position) {
+            int keyStart = keyOffsets[position];
+            int keyLength = keyOffsets[position + 1] - keyStart;
+            int from = 0;
+            for (int depth = 1; depth <= keyLength; depth++) {
+                from = lowerBound(keys, keyStart, keyStart + depth, from, position);
+                AtomicReference<int[]> bucket = buckets.get(bucketKey(depth, from));
+                if (bucket == null) {
+                    return;
+                }
+                promote(bucket, position);
+            }
+        }
+
+        private void promote(AtomicReference<int[]> bucket, int position) {
+            int value = popularity.get(position);
+            while (true) {
+                int[] current = bucket.get();
+                int weakest = -1;
+                int weakestValue = Integer.MAX_VALUE;
+                for (int i = 0; i < current.length; i++) {
+                    if (current[i] == position) {
+                        return;
+                    }
+                    int candidate = popularity.get(current[i]);
+                    if (candidate < weakestValue) {
+                        weakest = i;
+                        weakestValue = candidate;
+                    }
+                }
+                if (weakest < 0 || value <= weakestValue) {
+                    return;
+                }
+                int[] next = current.clone();
+                next[weakest] = position;
+                if (bucket.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return entryIds.length;
+        }
+
+        int lowerBound(byte[] prefix) {
+            return lowerBound(prefix, 0, prefix.length, 0, size());
+        }
+
+        private int lowerBound(byte[] prefix, int prefixFrom, int prefixTo, int low, int high) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = Arrays.compareUnsigned(keys, keyOffsets[middle], keyOffsets[middle + 1],
+                        prefix, prefixFrom, prefixTo);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /** First position at or after {@code from} whose key does not start with {@code prefix}. */
+        int upperBound(byte[] prefix, int from) {
+            int low = from;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (startsWith(middle, prefix)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        boolean startsWith(int position, byte[] prefix) {
+            int start = keyOffsets[position];
+            if (keyOffsets[position + 1] - start < prefix.length) {
+                return false;
+            }
+            return Arrays.equals(keys, start, start + prefix.length, prefix, 0, prefix.length);
+        }
+
+        String key(int position) {
+            return new String(keys, keyOffsets[position], keyOffsets[position + 1] - keyOffsets[position],
+                    StandardCharsets.UTF_8);
+        }
+
+        String label(int position) {
+            return new String(labels, labelOffsets[position], labelOffsets[position + 1] - labelOffsets[position],
+                    StandardCharsets.UTF_8);
+        }
+
+        int positionOf(long entryId) {
+            int index = Arrays.binarySearch(sortedEntryIds, entryId);
+            return index >= 0 ? positions[index] : -1;
+        }
+
+        long estimatedBytes() {
+            return keys.length + labels.length
+                    + 4L * (keyOffsets.length + labelOffsets.length + popularity.length() + positions.length)
+                    + 8L * (entryIds.length + sortedEntryIds.length)
+                    + (long) buckets.size() * (4L * BUCKET_SIZE + 96);
+        }
+    }
+}
@@ -1,40 +1,71 @@
 package com.biblioteca.service;
 
+import com.biblioteca.concurrency.RequestCoalescer;
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.config.MetricsConfig;
 import com.biblioteca.model.Author;
 import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.search.SuggestionIndex;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class AuthorService {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private RequestCoalescer coalescer;
+
+    @Transactional(readOnly = true)
     public List<Author> getAllAuthors() {
         return authorRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, key = "#id", unless = "#result == null")
     public Optional<Author> getAuthorById(Long id) {
-        return authorRepository.findById(id);
+        return coalescer.execute("authors.byId", id, () -> authorRepository.findById(id));
     }
 
     public Author createAuthor(Author author) {
-        return authorRepository.save(author);
+        Author created = authorRepository.save(author);
+        suggestionIndex.upsertAuthor(created);
+        return created;
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public Author updateAuthor(Long id, Author author) {
         return authorRepository.findById(id).map(existingAuthor -> {
             existingAuthor.setName(author.getName());
             existingAuthor.setCountry(author.getCountry());
             existingAuthor.setBirthYear(author.getBirthYear());
-            return authorRepository.save(existingAuthor);
+            Author updated = authorRepository.save(existingAuthor);
+            suggestionIndex.upsertAuthor(updated);
+            return updated;
         }).orElseThrow(() -> new RuntimeException("Author not found"));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.AUTHORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, allEntries = true)
+    })
     public void deleteAuthor(Long id) {
         authorRepository.deleteById(id);
+        suggestionIndex.removeAuthor(id);
     }
 }
@@ -0,0 +1,128 @@
+package com.biblioteca.service;
+
+import com.biblioteca.config.MetricsConfig;
+import com.biblioteca.dto.BulkImportResult;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.search.BookSearchIndex;
+import com.biblioteca.search.SuggestionIndex;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class BookImportService {
+    static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkImportResult importBooks(InputStream json) throws IOException {
+        long started = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<Long, Author> authors = new HashMap<>();
+        List<Book> batch = new ArrayList<>(BATCH_SIZE);
+        long imported = 0;
+        int batches = 0;
+
+        try (MappingIterator<Book> books = objectMapper.readerFor(Book.class).readValues(json)) {
+            while (books.hasNextValue()) {
+                batch.add(books.nextValue());
+                if (batch.size() == BATCH_SIZE) {
+                    imported += insertBatch(transaction, batch, authors, imported);
+                    batches++;
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += insertBatch(transaction, batch, authors, imported);
+            batches++;
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        long rowsPerSecond = elapsedNanos == 0 ? 0 : imported * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return new BulkImportResult(imported, batches, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    private int insertBatch(TransactionTemplate transaction, List<Book> batch, Map<Long, Author> authors,
+                            long importedSoFar) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                Session session = entityManager.unwrap(Session.class);
+                session.setJdbcBatchSize(BATCH_SIZE);
+                resolveAuthors(batch, authors);
+                for (Book book : batch) {
+                    book.setId(null);
+                    book.setAuthor(entityManager.getReference(Author.class, book.getAuthor().getId()));
+                    entityManager.persist(book);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Bulk import failed after " + importedSoFar + " books: " + ex.getMessage(), ex);
+        }
+        for (Book book : batch) {
+            searchIndex.index(book);
+            suggestionIndex.upsertBook(book);
+        }
+        return batch.size();
+    }
+
+    private void resolveAuthors(List<Book> batch, Map<Long, Author> authors) {
+        Set<Long> missing = new HashSet<>();
+        for (Book book : batch) {
+            if (book.getAuthor() == null || book.getAuthor().getId() == null) {
+                throw new RuntimeException("Book " + book.getIsbn() + " has no author id");
+            }
+            if (!authors.containsKey(book.getAuthor().getId())) {
+                missing.add(book.getAuthor().getId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Author author : authorRepository.findAllById(missing)) {
+            authors.put(author.getId(), author);
+            missing.remove(author.getId());
+        }
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Author not found: " + missing.iterator().next());
+        }
+    }
+}
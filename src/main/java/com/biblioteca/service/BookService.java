@@ -1,30 +1,100 @@
 package com.biblioteca.service;
 
+import com.biblioteca.concurrency.RequestCoalescer;
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.config.MetricsConfig;
+import com.biblioteca.dto.BookSearchHit;
+import com.biblioteca.dto.CursorPage;
+import com.biblioteca.dto.Suggestion;
 import com.biblioteca.model.Book;
 import com.biblioteca.repository.BookRepository;
+import com.biblioteca.search.BookSearchIndex;
+import com.biblioteca.search.SuggestionIndex;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BookService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int MAX_SUGGEST_LIMIT = 50;
+
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private RequestCoalescer coalescer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getBooksPage(String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decodeId(cursor);
+
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, pageSize + 1));
+        if (books.size() <= pageSize) {
+            return new CursorPage<>(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        return new CursorPage<>(page, KeysetCursor.encode(page.get(pageSize - 1).getId()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", unless = "#result == null")
     public Optional<Book> getBookById(Long id) {
-        return bookRepository.findById(id);
+        return coalescer.execute("books.byId", id, () -> bookRepository.findById(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Book> getBookByIsbn(String isbn) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Book.class).loadOptional(isbn);
+    }
+
+    public List<BookSearchHit> searchBooks(String query, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return searchIndex.search(query, maxResults);
+    }
+
+    public List<Suggestion> suggest(String prefix, Integer limit) {
+        int maxResults = limit == null ? DEFAULT_SUGGEST_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT));
+        return suggestionIndex.suggest(prefix, maxResults);
     }
 
     public Book createBook(Book book) {
-        return bookRepository.save(book);
+        Book created = bookRepository.save(book);
+        searchIndex.index(created);
+        suggestionIndex.upsertBook(created);
+        return created;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public Book updateBook(Long id, Book book) {
         return bookRepository.findById(id).map(existingBook -> {
             existingBook.setTitle(book.getTitle());
@@ -34,15 +104,21 @@ public class BookService {
             existingBook.setDescription(book.getDescription());
             existingBook.setCopies(book.getCopies());
             existingBook.setAvailableCopies(book.getAvailableCopies());
-            return bookRepository.save(existingBook);
+            Book updated = bookRepository.save(existingBook);
+            searchIndex.index(updated);
+            suggestionIndex.upsertBook(updated);
+            return updated;
         }).orElseThrow(() -> new RuntimeException("Book not found"));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public void deleteBook(Long id) {
         bookRepository.deleteById(id);
+        searchIndex.remove(id);
+        suggestionIndex.removeBook(id);
     }
 
     public List<Book> getAvailableBooks() {
-        return bookRepository.findByAvailableCopiesGreaterThan(0);
+        return coalescer.execute("books.available", 0, () -> bookRepository.findByAvailableCopiesGreaterThan(0));
     }
 }
@@ -0,0 +1,78 @@
+package com.biblioteca.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvReader {
+    private final Reader reader;
+    private int pending = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<String> next() throws IOException {
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    read();
+                    field.append('"');
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == '"' && field.length() == 0 && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                record.add(value(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n') {
+                if (record.isEmpty() && field.length() == 0 && !quoted) {
+                    continue;
+                }
+                record.add(value(field, quoted));
+                return record;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (inQuotes) {
+            throw new RuntimeException("Unterminated quoted field in CSV");
+        }
+        if (record.isEmpty() && field.length() == 0 && !quoted) {
+            return null;
+        }
+        record.add(value(field, quoted));
+        return record;
+    }
+
+    private static String value(StringBuilder field, boolean quoted) {
+        return field.length() == 0 && !quoted ? null : field.toString();
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (pending == -2) {
+            pending = reader.read();
+        }
+        return pending;
+    }
+}
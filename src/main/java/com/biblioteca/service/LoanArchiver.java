@@ -0,0 +1,115 @@
+package com.biblioteca.service;
+
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.ArchivedLoanRepository.ArchiveBatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Moves returned loans whose loan date is older than {@code biblioteca.loan-archive.after} from the
+ * partitioned {@code loans} table into {@code loans_archive}, then retires the monthly partitions before
+ * the cutoff: the few open loans left in them move to {@code loans_default}. Afterwards the everyday loan
+ * queries only touch recent partitions; archived loans are read only for a member's full history.
+ *
+ * <p>Loans are moved in id order, {@code chunk-size} at a time, each batch in its own transaction. A run
+ * resumes after the last id it moved, so it never rescans rows it has already deleted.
+ */
+@Service
+@ConditionalOnProperty(name = "biblioteca.loan-archive.enabled", havingValue = "true", matchIfMissing = true)
+public class LoanArchiver {
+    private static final Logger log = LoggerFactory.getLogger(LoanArchiver.class);
+
+    public static final String ARCHIVE_TIMER = "biblioteca.loans.archive";
+    public static final String ARCHIVED_COUNTER = "biblioteca.loans.archived";
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private LoanPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${biblioteca.loan-archive.after:365d}")
+    private Period after;
+
+    @Value("${biblioteca.loan-archive.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${biblioteca.loan-archive.pause:0ms}")
+    private Duration pause;
+
+    private final TransactionTemplate batchTransaction;
+
+    public LoanArchiver(PlatformTransactionManager transactionManager) {
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(cron = "${biblioteca.loan-archive.cron:0 45 0 * * *}")
+    public void scheduledArchive() {
+        archive(LocalDate.now().minus(after));
+    }
+
+    /**
+     * Archives every returned loan with a loan date before {@code cutoff}.
+     *
+     * @return number of loans moved to the archive
+     */
+    public long archive(LocalDate cutoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long moved = 0;
+        int partitionsRetired = 0;
+        String outcome = "completed";
+        try {
+            long afterId = 0;
+            ArchiveBatch batch;
+            do {
+                long from = afterId;
+                batch = batchTransaction.execute(status -> archivedLoanRepository.archive(
+                        LoanStatus.RETURNED.getCode(), cutoff, from, chunkSize));
+                if (batch == null || batch.getMoved() == 0) {
+                    break;
+                }
+                moved += batch.getMoved();
+                afterId = batch.getLastId();
+                if (!pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            } while (batch.getMoved() == chunkSize);
+            partitionsRetired = partitionMaintainer.retirePartitionsBefore(cutoff);
+            return moved;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+            return moved;
+        } catch (RuntimeException ex) {
+            outcome = "failed";
+            throw ex;
+        } finally {
+            long nanos = sample.stop(Timer.builder(ARCHIVE_TIMER)
+                    .description("Duration of returned-loan archival runs")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            meterRegistry.counter(ARCHIVED_COUNTER).increment(moved);
+            log.info("Loan archival before {} {}: {} loans archived, {} partitions retired, {} ms",
+                    cutoff, outcome, moved, partitionsRetired, Duration.ofNanos(nanos).toMillis());
+        }
+    }
+}
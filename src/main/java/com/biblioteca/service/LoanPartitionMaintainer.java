@@ -0,0 +1,118 @@
+package com.biblioteca.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code loans} ahead of the calendar, so new loans never land in
+ * {@code loans_default}, and retires old partitions once {@link LoanArchiver} has moved their returned
+ * loans out: the open loans left in them go to {@code loans_default} and the partition is dropped, so
+ * queries without a {@code loan_date} bound only probe recent months. The partitioning comes from
+ * migration V4 and the SQL functions from V4 and V9; on any database other than PostgreSQL (H2 in
+ * benchmarks) this does nothing.
+ *
+ * <p>Detaching a partition locks all of {@code loans} (ACCESS EXCLUSIVE; the concurrent form is not
+ * allowed next to {@code loans_default}), so each partition is retired in its own short transaction under
+ * {@code lock-timeout}. A partition whose lock cannot be had in time is left for the next run instead of
+ * queueing every loan query behind the archiver.
+ */
+@Service
+public class LoanPartitionMaintainer {
+    private static final Logger log = LoggerFactory.getLogger(LoanPartitionMaintainer.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${biblioteca.loan-partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${biblioteca.loan-partitions.lock-timeout:2s}")
+    private Duration lockTimeout;
+
+    private volatile Boolean partitioned;
+
+    private final TransactionTemplate partitionTransaction;
+
+    public LoanPartitionMaintainer(PlatformTransactionManager transactionManager) {
+        this.partitionTransaction = new TransactionTemplate(transactionManager);
+        this.partitionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${biblioteca.loan-partitions.cron:0 30 0 * * *}")
+    public void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        int created = ensurePartitions(today, today.plusMonths(monthsAhead));
+        if (created > 0) {
+            log.info("Created {} loan partitions up to {}", created, today.plusMonths(monthsAhead).withDayOfMonth(1));
+        }
+    }
+
+    /** Creates the missing monthly partitions from {@code from} to {@code to}, both months included. */
+    public int ensurePartitions(LocalDate from, LocalDate to) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_loan_partitions(?, ?)", Integer.class,
+                from, to);
+        return created == null ? 0 : created;
+    }
+
+    /**
+     * Retires the monthly partitions that end on or before the first day of {@code month}, oldest first and
+     * one transaction each: their rows move to {@code loans_default} and the partitions are dropped. Stops
+     * at the first partition that cannot be locked within {@code lock-timeout}.
+     */
+    public int retirePartitionsBefore(LocalDate month) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        LocalDate before = month.withDayOfMonth(1);
+        List<String> partitions = jdbcTemplate.queryForList("SELECT loan_partitions_before(?)", String.class,
+                before);
+        int retired = 0;
+        for (String partition : partitions) {
+            try {
+                Long moved = partitionTransaction.execute(status -> {
+                    jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                            lockTimeout.toMillis() + "ms");
+                    return jdbcTemplate.queryForObject("SELECT retire_loan_partition(?)", Long.class, partition);
+                });
+                log.debug("Retired loan partition {}, {} open loans moved to loans_default", partition, moved);
+                retired++;
+            } catch (CannotAcquireLockException ex) {
+                log.warn("Could not lock loans within {} to retire {}, leaving it for the next run",
+                        lockTimeout, partition);
+                break;
+            }
+        }
+        if (retired > 0) {
+            log.info("Retired {} loan partitions before {}", retired, before);
+        }
+        return retired;
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return partitioned;
+    }
+}
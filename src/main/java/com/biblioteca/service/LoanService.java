@@ -1,22 +1,90 @@
 package com.biblioteca.service;
 
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.config.MetricsConfig;
+import com.biblioteca.dto.CursorPage;
+import com.biblioteca.dto.LoanHistoryEntry;
+import com.biblioteca.exception.NoCopiesAvailableException;
+import com.biblioteca.model.Book;
 import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.BookRepository;
 import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.search.SuggestionIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class LoanService {
+    public static final int LOAN_PERIOD_DAYS = 14;
+    static final int EXPORT_CLEAR_INTERVAL = 500;
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
+    static final LocalDate EARLIEST_LOAN_DATE = LocalDate.of(1, 1, 1);
+    static final LocalDate LATEST_LOAN_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final Comparator<LoanHistoryEntry> NEWEST_FIRST = Comparator
+            .comparing(LoanHistoryEntry::loanDate)
+            .thenComparing(LoanHistoryEntry::id)
+            .reversed();
+
     @Autowired
     private LoanRepository loanRepository;
 
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<Loan> getAllLoans() {
         return loanRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Loan> getLoanById(Long id) {
         return loanRepository.findById(id);
     }
@@ -25,6 +93,78 @@ public class LoanService {
         return loanRepository.save(loan);
     }
 
+    @Transactional
+    public Loan checkout(Long bookId, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (bookRepository.decrementAvailableCopies(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new RuntimeException("Book not found");
+            }
+            throw new NoCopiesAvailableException(bookId);
+        }
+        evictBookAfterCompletion(bookId);
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new RuntimeException("Book not found"));
+
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setUser(user);
+        loan.setLoanDate(LocalDate.now());
+        loan.setDueDate(loan.getLoanDate().plusDays(LOAN_PERIOD_DAYS));
+        loan.setStatus(LoanStatus.ACTIVE);
+        Loan created = loanRepository.save(loan);
+        recordLoanAfterCommit(book);
+        return created;
+    }
+
+    /**
+     * Counts the loan towards the book's suggestion popularity once the checkout has committed, so a rolled
+     * back checkout leaves no trace and the index is never touched while row locks are held.
+     */
+    private void recordLoanAfterCommit(Book book) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            suggestionIndex.recordLoan(book);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                suggestionIndex.recordLoan(book);
+            }
+        });
+    }
+
+    @Transactional
+    public Loan returnLoan(Long id) {
+        Long bookId = loanRepository.findBookIdById(id)
+                .orElseThrow(() -> new RuntimeException("Loan not found"));
+        if (loanRepository.markReturned(id, LocalDate.now()) == 0) {
+            throw new RuntimeException("Loan already returned");
+        }
+        bookRepository.incrementAvailableCopies(bookId);
+        evictBookAfterCompletion(bookId);
+        return loanRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Loan not found"));
+    }
+
+    private void evictBookAfterCompletion(Long bookId) {
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            books.evict(bookId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                books.evict(bookId);
+            }
+        });
+    }
+
     public Loan updateLoan(Long id, Loan loan) {
         return loanRepository.findById(id).map(existingLoan -> {
             existingLoan.setBook(loan.getBook());
@@ -41,7 +181,87 @@ public class LoanService {
         loanRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Loan> getLoansByUserId(Long userId) {
         return loanRepository.findByUserId(userId);
     }
+
+    /**
+     * Same as {@link #getLoansByUserId(Long)}; with {@code fullHistory} it also reads the returned loans
+     * {@link LoanArchiver} has moved to the archive, listed after the current ones.
+     */
+    @Transactional(readOnly = true)
+    public List<Loan> getLoansByUserId(Long userId, boolean fullHistory) {
+        List<Loan> loans = loanRepository.findByUserId(userId);
+        if (!fullHistory) {
+            return loans;
+        }
+        List<Loan> history = new ArrayList<>(loans);
+        archivedLoanRepository.findByUserId(userId).forEach(archived -> history.add(archived.toLoan()));
+        return history;
+    }
+
+    /**
+     * One page of a member's loans, newest first, as flat {@link LoanHistoryEntry} rows. {@code status},
+     * {@code from} and {@code to} are optional filters. With {@code fullHistory} the archived loans are
+     * merged in by the same order.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LoanHistoryEntry> getLoanHistory(Long userId, LoanStatus status, LocalDate from,
+                                                       LocalDate to, boolean fullHistory, String cursor,
+                                                       Integer size) {
+        int pageSize = size == null ? DEFAULT_HISTORY_PAGE_SIZE
+                : Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        LocalDate fromDate = from == null ? EARLIEST_LOAN_DATE : from;
+        LocalDate toDate = to == null ? LATEST_LOAN_DATE : to;
+        LocalDate afterDate = toDate;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            try {
+                afterDate = LocalDate.parse(keys[0]);
+                afterId = Long.parseLong(keys[1]);
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        EnumSet<LoanStatus> statuses = status == null ? EnumSet.allOf(LoanStatus.class) : EnumSet.of(status);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<LoanHistoryEntry> entries = loanRepository.findHistoryByUserId(userId, statuses, fromDate, toDate,
+                afterDate, afterId, limit);
+        if (fullHistory && statuses.contains(LoanStatus.RETURNED)) {
+            entries = new ArrayList<>(entries);
+            entries.addAll(archivedLoanRepository.findHistoryByUserId(userId, fromDate, toDate,
+                    afterDate, afterId, limit));
+            entries.sort(NEWEST_FIRST);
+        }
+        if (entries.size() <= pageSize) {
+            return new CursorPage<>(entries, null);
+        }
+        List<LoanHistoryEntry> page = entries.subList(0, pageSize);
+        LoanHistoryEntry last = page.get(pageSize - 1);
+        return new CursorPage<>(page, KeysetCursor.encode(last.loanDate(), last.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public long exportLoans(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Loan.class);
+        long exported = 0;
+        try (Stream<Loan> loans = loanRepository.streamAllForExport()) {
+            Iterator<Loan> iterator = loans.iterator();
+            while (iterator.hasNext()) {
+                Loan loan = iterator.next();
+                out.write(writer.writeValueAsBytes(loan));
+                out.write('\n');
+                entityManager.detach(loan);
+                if (++exported % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return exported;
+    }
 }
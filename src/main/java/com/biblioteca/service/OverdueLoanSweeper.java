@@ -0,0 +1,143 @@
+package com.biblioteca.service;
+
+import com.biblioteca.model.SweepCheckpoint;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.SweepCheckpointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Marks active loans past their due date as {@code OVERDUE}.
+ *
+ * <p>The loans table is walked in primary-key windows of {@code chunk-size} ids, each updated by one
+ * set-based UPDATE in its own short transaction, so row locks are held for a single chunk at a time
+ * and the sweep never blocks checkouts or returns for long. Progress is stored in a
+ * {@link SweepCheckpoint} row committed with each chunk; the row is locked for the chunk's duration,
+ * which also serialises sweeps started by several instances.
+ */
+@Service
+@ConditionalOnProperty(name = "biblioteca.overdue-sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class OverdueLoanSweeper {
+    private static final Logger log = LoggerFactory.getLogger(OverdueLoanSweeper.class);
+
+    public static final String JOB_NAME = "overdue-loans";
+    public static final String SWEEP_TIMER = "biblioteca.overdue.sweep";
+    public static final String MARKED_COUNTER = "biblioteca.overdue.marked";
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${biblioteca.overdue-sweeper.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${biblioteca.overdue-sweeper.pause:0ms}")
+    private Duration pause;
+
+    private final TransactionTemplate chunkTransaction;
+
+    public OverdueLoanSweeper(PlatformTransactionManager transactionManager) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(cron = "${biblioteca.overdue-sweeper.cron:0 15 0 * * *}")
+    public void scheduledSweep() {
+        sweep(LocalDate.now());
+    }
+
+    /**
+     * Sweeps every loan that exists when the call starts. Re-running on the same {@code today} resumes
+     * from the checkpoint; a new day starts again from the first id.
+     *
+     * @return number of loans marked overdue by this call
+     */
+    public long sweep(LocalDate today) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long marked = 0;
+        int chunks = 0;
+        String outcome = "completed";
+        try {
+            Long maxId = loanRepository.findMaxId().orElse(null);
+            if (maxId == null) {
+                return 0;
+            }
+            ensureCheckpoint(today);
+
+            Integer updated;
+            while ((updated = chunkTransaction.execute(status -> sweepChunk(today, maxId))) != null) {
+                marked += updated;
+                chunks++;
+                if (!pause.isZero()) {
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+            return marked;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+            return marked;
+        } catch (RuntimeException ex) {
+            outcome = "failed";
+            throw ex;
+        } finally {
+            long nanos = sample.stop(Timer.builder(SWEEP_TIMER)
+                    .description("Duration of overdue-loan sweeps")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            meterRegistry.counter(MARKED_COUNTER).increment(marked);
+            log.info("Overdue sweep for {} {}: {} loans marked in {} chunks, {} ms",
+                    today, outcome, marked, chunks, Duration.ofNanos(nanos).toMillis());
+        }
+    }
+
+    /** Returns the rows updated in the next window, or {@code null} once the checkpoint reaches {@code maxId}. */
+    private Integer sweepChunk(LocalDate today, long maxId) {
+        SweepCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME).orElseThrow();
+        if (!today.equals(checkpoint.getRunDate())) {
+            checkpoint.setRunDate(today);
+            checkpoint.setLastId(0L);
+        }
+        long fromId = checkpoint.getLastId();
+        if (fromId >= maxId) {
+            return null;
+        }
+        long toId = Math.min(fromId + chunkSize, maxId);
+        int updated = loanRepository.markOverdue(fromId, toId, today);
+        checkpoint.setLastId(toId);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return updated;
+    }
+
+    private void ensureCheckpoint(LocalDate today) {
+        if (checkpointRepository.existsById(JOB_NAME)) {
+            return;
+        }
+        try {
+            chunkTransaction.executeWithoutResult(status -> checkpointRepository.saveAndFlush(
+                    new SweepCheckpoint(JOB_NAME, 0L, today, LocalDateTime.now())));
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created it first
+        }
+    }
+}
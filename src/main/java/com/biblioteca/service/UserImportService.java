@@ -0,0 +1,260 @@
+package com.biblioteca.service;
+
+import com.biblioteca.config.MetricsConfig;
+import com.biblioteca.dto.ImportConflict;
+import com.biblioteca.dto.UserImportResult;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class UserImportService {
+    static final int BATCH_SIZE = 500;
+    static final int MAX_CONFLICT_SAMPLES = 100;
+
+    static final String CONFLICT_EXISTING = "EXISTING";
+    static final String CONFLICT_DUPLICATE = "DUPLICATE_IN_FILE";
+    static final String CONFLICT_INVALID = "INVALID";
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "name", "name",
+            "email", "email",
+            "memberid", "member_id",
+            "member_id", "member_id",
+            "city", "city",
+            "active", "active");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public UserImportResult importUsers(InputStream csv) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        CsvReader records = new CsvReader(reader);
+        List<String> columns = mapHeader(records.next());
+
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+        UserImportResult result;
+        try {
+            result = session.doReturningWork(connection -> connection.isWrapperFor(PGConnection.class)
+                    ? copyIntoUsers(connection.unwrap(PGConnection.class), connection, columns, reader)
+                    : null);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        return result != null ? result : importInBatches(session, columns, records);
+    }
+
+    private List<String> mapHeader(List<String> header) {
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty");
+        }
+        List<String> columns = new ArrayList<>(header.size());
+        for (String name : header) {
+            String column = name == null ? null : COLUMNS.get(name.trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new RuntimeException("Unknown CSV column: " + name);
+            }
+            columns.add(column);
+        }
+        for (String required : List.of("name", "email", "member_id")) {
+            if (!columns.contains(required)) {
+                throw new RuntimeException("Missing CSV column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private UserImportResult copyIntoUsers(PGConnection pgConnection, Connection connection, List<String> columns,
+                                           Reader body) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS pg_temp.users_import");
+            statement.execute("CREATE TEMP TABLE users_import (row_no bigserial, name text, email text, "
+                    + "member_id text, city text, active boolean, conflict text) ON COMMIT DROP");
+        }
+
+        CopyManager copyManager = pgConnection.getCopyAPI();
+        long received;
+        try {
+            received = copyManager.copyIn("COPY users_import (" + String.join(", ", columns)
+                    + ") FROM STDIN WITH (FORMAT csv)", body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        long imported;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX ON users_import (email)");
+            statement.execute("CREATE INDEX ON users_import (member_id)");
+            statement.execute("ANALYZE users_import");
+            statement.executeUpdate("UPDATE users_import SET conflict = '" + CONFLICT_INVALID + "' "
+                    + "WHERE btrim(coalesce(name, '')) = '' OR btrim(coalesce(email, '')) = '' "
+                    + "OR btrim(coalesce(member_id, '')) = ''");
+            statement.executeUpdate("UPDATE users_import s SET conflict = '" + CONFLICT_EXISTING + "' "
+                    + "WHERE s.conflict IS NULL AND EXISTS (SELECT 1 FROM users u "
+                    + "WHERE u.email = s.email OR u.member_id = s.member_id)");
+            // Like the JPA path: an earlier INVALID row claims nothing, any other earlier row does.
+            statement.executeUpdate("UPDATE users_import s SET conflict = '" + CONFLICT_DUPLICATE + "' "
+                    + "WHERE s.conflict IS NULL AND EXISTS (SELECT 1 FROM users_import o "
+                    + "WHERE o.row_no < s.row_no AND o.conflict IS DISTINCT FROM '" + CONFLICT_INVALID + "' "
+                    + "AND (o.email = s.email OR o.member_id = s.member_id))");
+            imported = statement.executeUpdate("INSERT INTO users (id, name, email, member_id, city, active) "
+                    + "SELECT nextval('users_seq'), name, email, member_id, city, coalesce(active, true) "
+                    + "FROM users_import WHERE conflict IS NULL ORDER BY row_no ON CONFLICT DO NOTHING");
+        }
+
+        List<ImportConflict> samples = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT row_no, email, member_id, conflict "
+                + "FROM users_import WHERE conflict IS NOT NULL ORDER BY row_no LIMIT ?")) {
+            statement.setInt(1, MAX_CONFLICT_SAMPLES);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    samples.add(new ImportConflict(rows.getLong(1) + 1, rows.getString(2), rows.getString(3),
+                            rows.getString(4)));
+                }
+            }
+        }
+        return new UserImportResult("COPY", received, imported, received - imported, samples);
+    }
+
+    private UserImportResult importInBatches(Session session, List<String> columns, CsvReader records)
+            throws IOException {
+        session.setJdbcBatchSize(BATCH_SIZE);
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenMemberIds = new HashSet<>();
+        List<ImportConflict> samples = new ArrayList<>();
+        Map<Long, User> batch = new LinkedHashMap<>();
+        long received = 0;
+        long imported = 0;
+        long conflicts = 0;
+
+        List<String> record;
+        while ((record = records.next()) != null) {
+            received++;
+            long line = received + 1;
+            User user = toUser(columns, record);
+            String reason = null;
+            if (isBlank(user.getName()) || isBlank(user.getEmail()) || isBlank(user.getMemberId())) {
+                reason = CONFLICT_INVALID;
+            } else if (!seenEmails.add(user.getEmail()) | !seenMemberIds.add(user.getMemberId())) {
+                reason = CONFLICT_DUPLICATE;
+            }
+            if (reason != null) {
+                conflicts++;
+                addSample(samples, new ImportConflict(line, user.getEmail(), user.getMemberId(), reason));
+            } else {
+                batch.put(line, user);
+            }
+            if (batch.size() == BATCH_SIZE) {
+                long inserted = insertBatch(batch, samples);
+                imported += inserted;
+                conflicts += batch.size() - inserted;
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            long inserted = insertBatch(batch, samples);
+            imported += inserted;
+            conflicts += batch.size() - inserted;
+        }
+        samples.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+        return new UserImportResult("JPA_BATCH", received, imported, conflicts, samples);
+    }
+
+    private long insertBatch(Map<Long, User> batch, List<ImportConflict> samples) {
+        Set<String> emails = new HashSet<>();
+        Set<String> memberIds = new HashSet<>();
+        for (User user : batch.values()) {
+            emails.add(user.getEmail());
+            memberIds.add(user.getMemberId());
+        }
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingMemberIds = new HashSet<>();
+        for (User existing : userRepository.findByEmailInOrMemberIdIn(emails, memberIds)) {
+            existingEmails.add(existing.getEmail());
+            existingMemberIds.add(existing.getMemberId());
+        }
+
+        long inserted = 0;
+        for (Map.Entry<Long, User> entry : batch.entrySet()) {
+            User user = entry.getValue();
+            if (existingEmails.contains(user.getEmail()) || existingMemberIds.contains(user.getMemberId())) {
+                addSample(samples, new ImportConflict(entry.getKey(), user.getEmail(), user.getMemberId(),
+                        CONFLICT_EXISTING));
+            } else {
+                entityManager.persist(user);
+                inserted++;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return inserted;
+    }
+
+    private static User toUser(List<String> columns, List<String> record) {
+        User user = new User();
+        for (int i = 0; i < columns.size() && i < record.size(); i++) {
+            String value = record.get(i);
+            switch (columns.get(i)) {
+                case "name" -> user.setName(value);
+                case "email" -> user.setEmail(value);
+                case "member_id" -> user.setMemberId(value);
+                case "city" -> user.setCity(value);
+                case "active" -> user.setActive(value == null || parseBoolean(value));
+                default -> throw new RuntimeException("Unknown CSV column: " + columns.get(i));
+            }
+        }
+        return user;
+    }
+
+    private static boolean parseBoolean(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "t", "yes", "y", "1", "on" -> true;
+            case "false", "f", "no", "n", "0", "off" -> false;
+            default -> throw new RuntimeException("Invalid boolean in CSV: " + value);
+        };
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static void addSample(List<ImportConflict> samples, ImportConflict conflict) {
+        if (samples.size() < MAX_CONFLICT_SAMPLES) {
+            samples.add(conflict);
+        }
+    }
+}
@@ -1,30 +1,52 @@
 package com.biblioteca.service;
 
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.config.MetricsConfig;
 import com.biblioteca.model.User;
 import com.biblioteca.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<User> getUserByMemberId(String memberId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(memberId);
+    }
+
     public User createUser(User user) {
         return userRepository.save(user);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public User updateUser(Long id, User user) {
         return userRepository.findById(id).map(existingUser -> {
             existingUser.setName(user.getName());
@@ -36,6 +58,7 @@ public class UserService {
         }).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id")
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
     }
@@ -0,0 +1,72 @@
+package com.biblioteca.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request accumulator for the {@code Server-Timing} breakdown. Only sampled
+ * requests get one; everywhere else {@link #current()} returns {@code null} and
+ * the instrumentation is a single thread-local read.
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedNanos = System.nanoTime();
+    private int statements;
+    private long statementNanos;
+    private int connections;
+    private long poolWaitNanos;
+    private long serviceNanos;
+    private int serviceDepth;
+    private long serializationNanos;
+
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(long nanos) {
+        statements++;
+        statementNanos += nanos;
+    }
+
+    void recordPoolWait(long nanos) {
+        connections++;
+        poolWaitNanos += nanos;
+    }
+
+    boolean enterService() {
+        return serviceDepth++ == 0;
+    }
+
+    void exitService(boolean outermost, long nanos) {
+        serviceDepth--;
+        if (outermost) {
+            serviceNanos += nanos;
+        }
+    }
+
+    void recordSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public String toHeader() {
+        return String.format(Locale.ROOT,
+                "db;desc=\"%d statements\";dur=%.2f, pool;desc=\"%d connections\";dur=%.2f, "
+                        + "service;dur=%.2f, serialization;dur=%.2f, total;dur=%.2f",
+                statements, millis(statementNanos), connections, millis(poolWaitNanos), millis(serviceNanos),
+                millis(serializationNanos), millis(System.nanoTime() - startedNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
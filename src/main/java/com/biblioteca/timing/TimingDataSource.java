@@ -0,0 +1,74 @@
+package com.biblioteca.timing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times pool checkout and statement execution for sampled requests. Connections
+ * handed out outside a sampled request are returned untouched.
+ */
+public class TimingDataSource extends DelegatingDataSource {
+
+    public TimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return super.getConnection();
+        }
+        long started = System.nanoTime();
+        Connection connection = super.getConnection();
+        timing.recordPoolWait(System.nanoTime() - started);
+        return proxy(Connection.class, connection, TimingDataSource::wrapStatement);
+    }
+
+    private static Object wrapStatement(Method method, Object result) {
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, null);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, null);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, null);
+        }
+        return result;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        Object proxy = Proxy.newProxyInstance(TimingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (instance, method, args) -> {
+                    boolean execute = wrapper == null && method.getName().startsWith("execute");
+                    long started = execute ? System.nanoTime() : 0L;
+                    try {
+                        Object result = method.invoke(target, args);
+                        return wrapper == null ? result : wrapper.wrap(method, result);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    } finally {
+                        RequestTiming timing = execute ? RequestTiming.current() : null;
+                        if (timing != null) {
+                            timing.recordStatement(System.nanoTime() - started);
+                        }
+                    }
+                });
+        return type.cast(proxy);
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+}
@@ -0,0 +1,63 @@
+-- Esquema inicial: tablas, secuencias y claves únicas de las entidades.
+-- Los esquemas creados antes con ddl-auto no coinciden con él (ids IDENTITY sin secuencias, status varchar
+-- o smallint, sin sweep_checkpoints); se actualizan copiando los datos a una base nueva (ver README).
+
+CREATE SEQUENCE authors_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE loans_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE authors (
+    id         bigint       NOT NULL,
+    name       varchar(255) NOT NULL,
+    country    varchar(255),
+    birth_year integer,
+    CONSTRAINT authors_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE books (
+    id               bigint       NOT NULL,
+    title            varchar(255) NOT NULL,
+    isbn             varchar(255) NOT NULL,
+    author_id        bigint       NOT NULL,
+    publication_year integer,
+    description      varchar(255),
+    copies           integer      NOT NULL,
+    available_copies integer      NOT NULL,
+    CONSTRAINT books_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_books_isbn UNIQUE (isbn),
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE users (
+    id        bigint       NOT NULL,
+    name      varchar(255) NOT NULL,
+    email     varchar(255) NOT NULL,
+    member_id varchar(255) NOT NULL,
+    city      varchar(255),
+    active    boolean      NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_member_id UNIQUE (member_id)
+);
+
+CREATE TABLE loans (
+    id          bigint       NOT NULL,
+    book_id     bigint       NOT NULL,
+    user_id     bigint       NOT NULL,
+    loan_date   date         NOT NULL,
+    due_date    date         NOT NULL,
+    return_date date,
+    status      varchar(255) NOT NULL,
+    CONSTRAINT loans_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_loans_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_loans_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE sweep_checkpoints (
+    name       varchar(64)  NOT NULL,
+    last_id    bigint       NOT NULL,
+    run_date   date         NOT NULL,
+    updated_at timestamp(6) NOT NULL,
+    CONSTRAINT sweep_checkpoints_pkey PRIMARY KEY (name)
+);
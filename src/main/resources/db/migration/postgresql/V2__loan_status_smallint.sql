@@ -0,0 +1,14 @@
+-- Loan.status pasa de texto libre a smallint (LoanStatus: 1 = ACTIVE, 2 = OVERDUE, 3 = RETURNED).
+-- Reescribe la tabla loans: en una base de datos grande, aplicar en una ventana de mantenimiento.
+ALTER TABLE loans
+    ALTER COLUMN status TYPE smallint USING CASE status
+        WHEN 'ACTIVE' THEN 1
+        WHEN 'OVERDUE' THEN 2
+        WHEN 'RETURNED' THEN 3
+    END;
+
+-- Solo los préstamos abiertos (ACTIVE y OVERDUE, menos del 5% de las filas): findByUserIdAndStatus,
+-- el historial de un socio y el marcado de vencidos no recorren los devueltos.
+CREATE INDEX idx_loans_open_user_due ON loans (user_id, due_date) WHERE status IN (1, 2);
+
+ANALYZE loans;
@@ -0,0 +1,19 @@
+-- Un índice por cada búsqueda de los repositorios que no estaba cubierta por una clave primaria o única.
+-- QueryPlanIT comprueba con EXPLAIN que ninguna de ellas recorre entera una tabla grande.
+
+-- AuthorRepository.findByName / findByCountry
+CREATE INDEX idx_authors_name ON authors (name);
+CREATE INDEX idx_authors_country ON authors (country);
+
+-- BookRepository.findByTitle / findByAuthorId / findByAvailableCopiesGreaterThan
+-- (findByIsbn usa uk_books_isbn)
+CREATE INDEX idx_books_title ON books (title);
+CREATE INDEX idx_books_author_id ON books (author_id);
+CREATE INDEX idx_books_available_copies ON books (available_copies);
+
+-- LoanRepository.findByUserId / findByUserIdAndStatus (cualquier estado; los abiertos también
+-- por idx_loans_open_user_due) y findByBookId
+CREATE INDEX idx_loans_user_status ON loans (user_id, status);
+CREATE INDEX idx_loans_book_id ON loans (book_id);
+
+ANALYZE authors, books, loans;
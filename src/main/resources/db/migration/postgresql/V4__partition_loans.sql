@@ -0,0 +1,105 @@
+-- loans pasa a estar particionada por mes de loan_date. Los préstamos devueltos antiguos se mueven a
+-- loans_archive (LoanArchiver), y las particiones que quedan vacías se eliminan: las consultas
+-- habituales solo recorren los meses recientes. Copia la tabla entera: aplicar en una ventana de
+-- mantenimiento.
+
+ALTER TABLE loans RENAME TO loans_unpartitioned;
+ALTER TABLE loans_unpartitioned DROP CONSTRAINT loans_pkey;
+DROP INDEX idx_loans_open_user_due, idx_loans_user_status, idx_loans_book_id;
+
+-- La clave primaria de una tabla particionada debe incluir la clave de partición; loans_seq sigue
+-- garantizando que id es único
+CREATE TABLE loans (
+    id          bigint   NOT NULL,
+    book_id     bigint   NOT NULL,
+    user_id     bigint   NOT NULL,
+    loan_date   date     NOT NULL,
+    due_date    date     NOT NULL,
+    return_date date,
+    status      smallint NOT NULL,
+    CONSTRAINT loans_pkey PRIMARY KEY (id, loan_date),
+    CONSTRAINT fk_loans_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_loans_user FOREIGN KEY (user_id) REFERENCES users (id)
+) PARTITION BY RANGE (loan_date);
+
+-- Recoge las filas de meses sin partición; ensure_loan_partitions las mueve al crearla
+CREATE TABLE loans_default PARTITION OF loans DEFAULT;
+
+CREATE INDEX idx_loans_open_user_due ON loans (user_id, due_date) WHERE status IN (1, 2);
+CREATE INDEX idx_loans_user_status ON loans (user_id, status);
+CREATE INDEX idx_loans_book_id ON loans (book_id);
+
+-- Crea las particiones mensuales loans_pYYYYMM que falten entre from_month y to_month (ambos incluidos)
+-- y devuelve cuántas ha creado. Usada por la migración, LoanPartitionMaintainer y datagen.
+CREATE FUNCTION ensure_loan_partitions(from_month date, to_month date) RETURNS integer AS $$
+DECLARE
+    month_start    date := date_trunc('month', from_month)::date;
+    month_end      date;
+    partition_name text;
+    created        integer := 0;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        month_end := (month_start + interval '1 month')::date;
+        partition_name := 'loans_p' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE loans INCLUDING DEFAULTS)', partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM loans_default WHERE loan_date >= %L AND loan_date < %L '
+                           'RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                           month_start, month_end, partition_name);
+            EXECUTE format('ALTER TABLE loans ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, month_start, month_end);
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Elimina las particiones mensuales vacías que terminan antes de before_month y devuelve cuántas
+CREATE FUNCTION drop_empty_loan_partitions(before_month date) RETURNS integer AS $$
+DECLARE
+    partition_name text;
+    is_empty       boolean;
+    dropped        integer := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'loans'::regclass AND c.relname ~ '^loans_p[0-9]{6}$'
+          AND (to_date(substr(c.relname, 8), 'YYYYMM') + interval '1 month')::date <= before_month
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', partition_name) INTO is_empty;
+        IF is_empty THEN
+            EXECUTE format('DROP TABLE %I', partition_name);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT ensure_loan_partitions(COALESCE((SELECT min(loan_date) FROM loans_unpartitioned), current_date),
+                              (current_date + interval '3 months')::date);
+
+INSERT INTO loans (id, book_id, user_id, loan_date, due_date, return_date, status)
+SELECT id, book_id, user_id, loan_date, due_date, return_date, status FROM loans_unpartitioned;
+
+DROP TABLE loans_unpartitioned;
+
+-- Préstamos devueltos hace tiempo: solo se consultan cuando se pide el historial completo de un socio
+CREATE TABLE loans_archive (
+    id          bigint NOT NULL,
+    book_id     bigint NOT NULL,
+    user_id     bigint NOT NULL,
+    loan_date   date   NOT NULL,
+    due_date    date   NOT NULL,
+    return_date date,
+    CONSTRAINT loans_archive_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_loans_archive_book FOREIGN KEY (book_id) REFERENCES books (id),
+    CONSTRAINT fk_loans_archive_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_loans_archive_user_loan_date ON loans_archive (user_id, loan_date);
+
+ANALYZE loans;
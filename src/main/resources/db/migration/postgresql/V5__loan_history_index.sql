@@ -0,0 +1,10 @@
+-- LoanRepository.findHistoryByUserId: historial de un socio paginado por (loan_date, id) descendente.
+-- Cada partición se lee en orden de índice y se detiene al llenar la página; el filtro de estado
+-- se aplica sobre las filas del índice.
+CREATE INDEX idx_loans_user_loan_date ON loans (user_id, loan_date DESC, id DESC);
+
+-- ArchivedLoanRepository.findHistoryByUserId
+DROP INDEX idx_loans_archive_user_loan_date;
+CREATE INDEX idx_loans_archive_user_loan_date ON loans_archive (user_id, loan_date DESC, id DESC);
+
+ANALYZE loans, loans_archive;
@@ -0,0 +1,5 @@
+-- BookRepository.findByAvailableCopiesGreaterThan solo se llama con 0 (libros disponibles), que
+-- coincide con casi todos los libros: el planificador recorre la tabla de todas formas. El índice
+-- solo encarecía cada préstamo y devolución, que dejaban de ser actualizaciones HOT al cambiar
+-- available_copies.
+DROP INDEX idx_books_available_copies;
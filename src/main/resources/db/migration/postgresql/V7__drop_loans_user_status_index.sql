@@ -0,0 +1,5 @@
+-- idx_loans_user_status (V3) cubría (user_id, status) para todos los préstamos, también el ~95 % ya
+-- devueltos que el índice parcial idx_loans_open_user_due (V2) deja fuera a propósito.
+-- findByUserId y findByUserIdAndStatus(RETURNED) usan idx_loans_user_loan_date (V5), que empieza por
+-- user_id; los préstamos abiertos de un socio, el índice parcial.
+DROP INDEX idx_loans_user_status;
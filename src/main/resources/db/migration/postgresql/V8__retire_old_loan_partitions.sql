@@ -0,0 +1,32 @@
+-- Tras archivar los préstamos devueltos, en los meses antiguos solo quedan préstamos abiertos (ACTIVE u
+-- OVERDUE sin devolver). Antes bastaba uno de ellos para conservar la partición de su mes, y las consultas
+-- sin loan_date (findByUserId, findById, markReturned) seguían recorriendo todas esas particiones.
+-- Ahora esos préstamos se mueven a loans_default y la partición se elimina, así que loans solo tiene
+-- las particiones de los meses recientes más loans_default.
+
+DROP FUNCTION drop_empty_loan_partitions(date);
+
+-- Retira las particiones mensuales que terminan antes de before_month: separa cada una de loans,
+-- reinserta sus filas (van a loans_default, ya que ninguna partición cubre ese mes) y la elimina.
+-- Devuelve cuántas ha retirado.
+CREATE FUNCTION retire_loan_partitions(before_month date) RETURNS integer AS $$
+DECLARE
+    partition_name text;
+    retired        integer := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'loans'::regclass AND c.relname ~ '^loans_p[0-9]{6}$'
+          AND (to_date(substr(c.relname, 8), 'YYYYMM') + interval '1 month')::date <= before_month
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE loans DETACH PARTITION %I', partition_name);
+        EXECUTE format('INSERT INTO loans (id, book_id, user_id, loan_date, due_date, return_date, status) '
+                       'SELECT id, book_id, user_id, loan_date, due_date, return_date, status FROM %I',
+                       partition_name);
+        EXECUTE format('DROP TABLE %I', partition_name);
+        retired := retired + 1;
+    END LOOP;
+    RETURN retired;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,34 @@
+-- retire_loan_partitions (V8) retiraba todos los meses antiguos en una sola llamada, es decir, en una sola
+-- transacción: el DETACH PARTITION toma un bloqueo ACCESS EXCLUSIVE sobre loans y lo mantenía hasta
+-- retirar el último mes, bloqueando préstamos, devoluciones e historiales mientras duraba el archivado.
+-- Ahora LoanPartitionMaintainer pide la lista de particiones y retira cada una en su propia transacción,
+-- con lock_timeout, así que el bloqueo dura lo que tarda en mover los pocos préstamos abiertos de un mes.
+-- DETACH ... CONCURRENTLY no es una opción: PostgreSQL no lo permite si la tabla tiene partición por
+-- defecto, y loans tiene loans_default.
+
+DROP FUNCTION retire_loan_partitions(date);
+
+-- Particiones mensuales que terminan antes de before_month, de la más antigua a la más reciente.
+CREATE FUNCTION loan_partitions_before(before_month date) RETURNS SETOF text AS $$
+    SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'loans'::regclass AND c.relname ~ '^loans_p[0-9]{6}$'
+      AND (to_date(substr(c.relname, 8), 'YYYYMM') + interval '1 month')::date <= before_month
+    ORDER BY c.relname;
+$$ LANGUAGE sql STABLE;
+
+-- Retira una partición mensual: la separa de loans, reinserta sus filas (van a loans_default, ya que
+-- ninguna partición cubre ese mes) y la elimina. Tras el archivado solo quedan préstamos abiertos, que
+-- LoanArchiver sacará de loans_default cuando se devuelvan. Devuelve cuántas filas ha movido.
+CREATE FUNCTION retire_loan_partition(partition_name text) RETURNS bigint AS $$
+DECLARE
+    moved bigint;
+BEGIN
+    EXECUTE format('ALTER TABLE loans DETACH PARTITION %I', partition_name);
+    EXECUTE format('INSERT INTO loans (id, book_id, user_id, loan_date, due_date, return_date, status) '
+                   'SELECT id, book_id, user_id, loan_date, due_date, return_date, status FROM %I',
+                   partition_name);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    EXECUTE format('DROP TABLE %I', partition_name);
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,64 @@
+package com.biblioteca.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConnectionPoolLimitFilter Tests")
+class ConnectionPoolLimitFilterTest {
+
+    @Test
+    @DisplayName("Should pass requests through while permits are available")
+    void testPassThrough() throws Exception {
+        ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(2, Duration.ofMillis(50));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), response,
+                (req, res) -> assertEquals(1, filter.getInFlight()));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, filter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 when no permit frees up before the timeout")
+    void testRejectsWhenSaturated() throws Exception {
+        ConnectionPoolLimitFilter filter = new ConnectionPoolLimitFilter(1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/loans"), new MockHttpServletResponse(),
+                        (req, res) -> {
+                            holding.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/loans"), rejected,
+                (req, res) -> fail("Request should not reach the chain"));
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        release.countDown();
+        holder.join();
+        assertEquals(0, filter.getInFlight());
+    }
+}
@@ -0,0 +1,118 @@
+package com.biblioteca.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+    private static final int CALLERS = 200;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(registry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one load for a burst of identical calls and share its result")
+    void testBurstIsCollapsed() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coalescer.execute("books.byId", 7L, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return new Object();
+            })));
+        }
+        waitForCollapsed("books.byId", CALLERS - 1);
+        release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1.0, counter("books.byId", "executed"));
+        assertEquals(CALLERS - 1.0, counter("books.byId", "collapsed"));
+    }
+
+    @Test
+    @DisplayName("Should give every waiting caller the exception of the shared load")
+    void testFailureIsShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> coalescer.execute("authors.byId", 1L, () -> {
+                await(release);
+                throw new IllegalStateException("database down");
+            })));
+        }
+        waitForCollapsed("authors.byId", 9);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, ex.getCause());
+            assertEquals("database down", ex.getCause().getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not remember results once the call has finished")
+    void testSequentialCallsAreNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("books.available", 0, loads::incrementAndGet);
+        coalescer.execute("books.available", 0, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0.0, counter("books.available", "collapsed"));
+    }
+
+    @Test
+    @DisplayName("Should keep different keys and names apart")
+    void testKeysAreIndependent() {
+        assertEquals("book-1", coalescer.execute("books.byId", 1L, () -> "book-1"));
+        assertEquals("book-2", coalescer.execute("books.byId", 2L, () -> "book-2"));
+        assertEquals("author-1", coalescer.execute("authors.byId", 1L, () -> "author-1"));
+    }
+
+    private void waitForCollapsed(String name, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (counter(name, "collapsed") < expected) {
+            assertTrue(System.nanoTime() < deadline, "Callers never joined the in-flight load");
+            Thread.sleep(5);
+        }
+    }
+
+    private double counter(String name, String outcome) {
+        var counter = registry.find(RequestCoalescer.METRIC).tag("name", name).tag("outcome", outcome).counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
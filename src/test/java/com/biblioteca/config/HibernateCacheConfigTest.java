@@ -0,0 +1,37 @@
+package com.biblioteca.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HibernateCacheConfig Unit Tests")
+class HibernateCacheConfigTest {
+    private final HibernateCacheConfig config = new HibernateCacheConfig();
+    private final GenericApplicationContext context = new GenericApplicationContext();
+
+    @Test
+    @DisplayName("Should give every context its own cache manager and regions")
+    void testCacheManagerPerContext() {
+        CacheManager first = config.hibernateCacheManager(context, 100, Duration.ofMinutes(1));
+        CacheManager second = config.hibernateCacheManager(context, 100, Duration.ofMinutes(1));
+        try {
+            assertNotSame(first, second);
+            assertNotEquals(first.getURI(), second.getURI());
+            assertEquals(HibernateCacheConfig.CACHE_MANAGER_URI_SCHEME, first.getURI().getScheme());
+            first.getCache("biblioteca.book").put(1L, "cached");
+            assertNull(second.getCache("biblioteca.book").get(1L));
+
+            first.close();
+            assertFalse(second.isClosed());
+            assertNotNull(second.getCache(HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+}
@@ -70,6 +70,31 @@ class BookControllerIT {
                 .andExpect(jsonPath("$[0].title", equalTo("One Hundred Years of Solitude")));
     }
 
+    @Test
+    @DisplayName("Should GET books page by page following the next cursor")
+    void testGetBooksWithCursor() throws Exception {
+        Book second = new Book();
+        second.setTitle("Love in the Time of Cholera");
+        second.setIsbn("978-0571209263");
+        second.setAuthor(author);
+        second.setCopies(3);
+        second.setAvailableCopies(2);
+        bookRepository.save(second);
+
+        String next = mockMvc.perform(get("/api/books").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("One Hundred Years of Solitude")))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/books").param("size", "1").param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", equalTo("Love in the Time of Cholera")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     @DisplayName("Should GET book by ID")
     void testGetBookById() throws Exception {
@@ -97,6 +122,64 @@ class BookControllerIT {
                 .andExpect(jsonPath("$.title", equalTo("Love in the Time of Cholera")));
     }
 
+    @Test
+    @DisplayName("Should GET search results and suggestions for a book created through the API")
+    void testSearchBooks() throws Exception {
+        Book newBook = new Book();
+        newBook.setTitle("Crónica de una muerte anunciada");
+        newBook.setIsbn("978-0140297638");
+        newBook.setAuthor(author);
+        newBook.setDescription("Novela de misterio");
+        newBook.setCopies(4);
+        newBook.setAvailableCopies(2);
+
+        mockMvc.perform(post("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newBook)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/books/search").param("q", "cronica MUERTE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", equalTo("Crónica de una muerte anunciada")));
+
+        mockMvc.perform(get("/api/books/suggest").param("prefix", "cronica de u"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type", equalTo("BOOK")))
+                .andExpect(jsonPath("$[0].text", equalTo("Crónica de una muerte anunciada")));
+    }
+
+    @Test
+    @DisplayName("Should POST a bulk import of books as NDJSON")
+    void testBulkImport() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 3; i++) {
+            ndjson.append("{\"title\":\"Bulk ").append(i)
+                    .append("\",\"isbn\":\"978-000000000").append(i)
+                    .append("\",\"author\":{\"id\":").append(author.getId())
+                    .append("},\"copies\":2,\"availableCopies\":2}\n");
+        }
+
+        mockMvc.perform(post("/api/books/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", equalTo(3)))
+                .andExpect(jsonPath("$.batches", equalTo(1)));
+
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    @DisplayName("Should reject a bulk import that references an unknown author")
+    void testBulkImportUnknownAuthor() throws Exception {
+        mockMvc.perform(post("/api/books/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Orphan\",\"isbn\":\"1\",\"author\":{\"id\":-1}}]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should PUT update book")
     void testUpdateBook() throws Exception {
@@ -129,4 +212,34 @@ class BookControllerIT {
         mockMvc.perform(delete("/api/books/{id}", book.getId()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("Should serve repeated GET by ID from the cache and evict it on update")
+    void testGetBookByIdCached() throws Exception {
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("One Hundred Years of Solitude")));
+
+        mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.name == 'books')].hits", contains(greaterThanOrEqualTo(1))));
+
+        Book updatedBook = new Book();
+        updatedBook.setTitle("Cien años de soledad");
+        updatedBook.setIsbn("978-0060883287");
+        updatedBook.setAuthor(author);
+        updatedBook.setCopies(5);
+        updatedBook.setAvailableCopies(3);
+
+        mockMvc.perform(put("/api/books/{id}", book.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedBook)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/{id}", book.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", equalTo("Cien años de soledad")));
+    }
 }
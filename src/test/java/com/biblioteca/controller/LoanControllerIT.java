@@ -1,6 +1,7 @@
 package com.biblioteca.controller;
 
 import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
 import com.biblioteca.model.Book;
 import com.biblioteca.model.User;
 import com.biblioteca.model.Author;
@@ -18,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -84,7 +86,7 @@ class LoanControllerIT {
         loan.setUser(user);
         loan.setLoanDate(LocalDate.now());
         loan.setDueDate(LocalDate.now().plusDays(14));
-        loan.setStatus("ACTIVE");
+        loan.setStatus(LoanStatus.ACTIVE);
         loan = loanRepository.save(loan);
     }
 
@@ -97,6 +99,18 @@ class LoanControllerIT {
                 .andExpect(jsonPath("$[0].status", equalTo("ACTIVE")));
     }
 
+    @Test
+    @DisplayName("Should stream the loan export as NDJSON")
+    void testExportLoans() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/loans/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+    }
+
     @Test
     @DisplayName("Should GET loan by ID")
     void testGetLoanById() throws Exception {
@@ -113,6 +127,43 @@ class LoanControllerIT {
                 .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
     }
 
+    @Test
+    @DisplayName("Should GET a user's loan history as flat rows, newest first, one cursor page at a time")
+    void testGetLoanHistory() throws Exception {
+        Loan returned = new Loan();
+        returned.setBook(book);
+        returned.setUser(user);
+        returned.setLoanDate(LocalDate.now().minusDays(30));
+        returned.setDueDate(LocalDate.now().minusDays(16));
+        returned.setReturnDate(LocalDate.now().minusDays(20));
+        returned.setStatus(LoanStatus.RETURNED);
+        returned = loanRepository.save(returned);
+
+        String next = mockMvc.perform(get("/api/loans/user/{userId}/history", user.getId()).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(loan.getId().intValue())))
+                .andExpect(jsonPath("$[0].bookTitle", equalTo(book.getTitle())))
+                .andExpect(jsonPath("$[0].book").doesNotExist())
+                .andExpect(jsonPath("$[0].user").doesNotExist())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/loans/user/{userId}/history", user.getId()).param("size", "1")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(returned.getId().intValue())))
+                .andExpect(jsonPath("$[0].status", equalTo("RETURNED")))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/loans/user/{userId}/history", user.getId()).param("status", "ACTIVE")
+                        .param("from", LocalDate.now().minusDays(7).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", equalTo("ACTIVE")));
+    }
+
     @Test
     @DisplayName("Should POST create new loan")
     void testCreateLoan() throws Exception {
@@ -121,7 +172,7 @@ class LoanControllerIT {
         newLoan.setUser(user);
         newLoan.setLoanDate(LocalDate.now());
         newLoan.setDueDate(LocalDate.now().plusDays(14));
-        newLoan.setStatus("ACTIVE");
+        newLoan.setStatus(LoanStatus.ACTIVE);
 
         mockMvc.perform(post("/api/loans")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -130,6 +181,41 @@ class LoanControllerIT {
                 .andExpect(jsonPath("$.status", equalTo("ACTIVE")));
     }
 
+    @Test
+    @DisplayName("Should POST checkout and decrement available copies")
+    void testCheckout() throws Exception {
+        mockMvc.perform(post("/api/loans/checkout")
+                .param("bookId", book.getId().toString())
+                .param("userId", user.getId().toString()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status", equalTo("ACTIVE")))
+                .andExpect(jsonPath("$.book.availableCopies", equalTo(2)));
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when checking out a book without copies left")
+    void testCheckoutNoCopiesLeft() throws Exception {
+        book.setAvailableCopies(0);
+        bookRepository.save(book);
+
+        mockMvc.perform(post("/api/loans/checkout")
+                .param("bookId", book.getId().toString())
+                .param("userId", user.getId().toString()))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should POST return and mark the loan as returned")
+    void testReturnLoan() throws Exception {
+        mockMvc.perform(post("/api/loans/{id}/return", loan.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", equalTo("RETURNED")))
+                .andExpect(jsonPath("$.returnDate", notNullValue()));
+
+        mockMvc.perform(post("/api/loans/{id}/return", loan.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should PUT update loan")
     void testUpdateLoan() throws Exception {
@@ -139,7 +225,7 @@ class LoanControllerIT {
         updatedLoan.setLoanDate(LocalDate.now());
         updatedLoan.setDueDate(LocalDate.now().plusDays(14));
         updatedLoan.setReturnDate(LocalDate.now());
-        updatedLoan.setStatus("RETURNED");
+        updatedLoan.setStatus(LoanStatus.RETURNED);
 
         mockMvc.perform(put("/api/loans/{id}", loan.getId())
                 .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,56 @@
+package com.biblioteca.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("integration-test")
+@DisplayName("Metrics Endpoint Integration Tests")
+class MetricsIT {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should expose request, service, pool and Hibernate metrics in Prometheus format")
+    void testPrometheusScrape() throws Exception {
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/books\""),
+                        containsString("biblioteca_service_seconds_bucket{"),
+                        containsString("method=\"getBooksPage\""),
+                        containsString("hikaricp_connections_acquire_seconds_bucket{"),
+                        containsString("hikaricp_connections_pending{"),
+                        containsString("hikaricp_connections_usage_seconds"),
+                        containsString("hibernate_statements_total{"),
+                        containsString("jvm_memory_used_bytes{"))));
+    }
+
+    @Test
+    @DisplayName("Should report latency percentiles for a service method")
+    void testServiceTimerPercentiles() throws Exception {
+        mockMvc.perform(get("/api/books"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics/biblioteca.service").param("tag", "method:getBooksPage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value",
+                        contains(greaterThanOrEqualTo(1.0))));
+    }
+}
@@ -0,0 +1,136 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.support.StatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.biblioteca.support.StatementCounter")
+@AutoConfigureMockMvc
+@ActiveProfiles("integration-test")
+@DisplayName("List Endpoint Query Budget Tests")
+@Transactional
+class QueryBudgetIT {
+    private static final int QUERY_BUDGET = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User user;
+    private int seeded;
+
+    @BeforeEach
+    void setUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        user = new User();
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setMemberId("M001");
+        user = userRepository.save(user);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "/api/books", "/api/books/available", "/api/authors", "/api/users", "/api/loans", "/api/loans/user/{id}"
+    })
+    @DisplayName("Should stay within the query budget no matter how many rows are listed")
+    void testListEndpointQueryBudget(String endpoint) throws Exception {
+        seed(5);
+        int small = countStatements(endpoint);
+
+        seed(60);
+        int large = countStatements(endpoint);
+
+        assertTrue(large <= QUERY_BUDGET, endpoint + " issued " + large + " statements: " + StatementCounter.statements());
+        assertEquals(small, large, endpoint + " issued more statements for more rows: " + StatementCounter.statements());
+    }
+
+    private int countStatements(String endpoint) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        StatementCounter.reset();
+
+        mockMvc.perform(get(endpoint.replace("{id}", user.getId().toString())))
+                .andExpect(status().isOk());
+        return StatementCounter.count();
+    }
+
+    private void seed(int rows) {
+        for (int i = 0; i < rows; i++) {
+            int n = seeded++;
+            Author author = new Author();
+            author.setName("Author " + n);
+            author = authorRepository.save(author);
+
+            Book book = new Book();
+            book.setTitle("Book " + n);
+            book.setIsbn("978-" + (1_000_000_000L + n));
+            book.setAuthor(author);
+            book.setCopies(2);
+            book.setAvailableCopies(1);
+            book = bookRepository.save(book);
+
+            User borrower = new User();
+            borrower.setName("Member " + n);
+            borrower.setEmail("member" + n + "@example.com");
+            borrower.setMemberId("M" + (1000 + n));
+            borrower = userRepository.save(borrower);
+
+            loanRepository.save(loan(book, borrower));
+            loanRepository.save(loan(book, user));
+        }
+    }
+
+    private Loan loan(Book book, User borrower) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setUser(borrower);
+        loan.setLoanDate(LocalDate.now());
+        loan.setDueDate(LocalDate.now().plusDays(14));
+        return loan;
+    }
+}
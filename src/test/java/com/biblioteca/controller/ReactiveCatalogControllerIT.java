@@ -0,0 +1,123 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: the R2DBC pool only sees committed rows.
+@SpringBootTest(properties = {
+        "biblioteca.reactive.enabled=true",
+        "biblioteca.reactive.url=r2dbc:postgresql://localhost:5432/biblioteca",
+        "biblioteca.reactive.username=postgres",
+        "biblioteca.reactive.password=password"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("integration-test")
+@DisplayName("ReactiveCatalogController Integration Tests")
+class ReactiveCatalogControllerIT {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Book available;
+    private Book lent;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        Author author = new Author();
+        author.setName("Gabriel García Márquez");
+        author.setCountry("Colombia");
+        author = authorRepository.save(author);
+
+        available = new Book();
+        available.setTitle("One Hundred Years of Solitude");
+        available.setIsbn("978-0060883287");
+        available.setAuthor(author);
+        available.setCopies(5);
+        available.setAvailableCopies(3);
+        available = bookRepository.save(available);
+
+        lent = new Book();
+        lent.setTitle("Love in the Time of Cholera");
+        lent.setIsbn("978-0571209263");
+        lent.setAuthor(author);
+        lent.setCopies(1);
+        lent.setAvailableCopies(0);
+        lent = bookRepository.save(lent);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream all books with their authors as NDJSON")
+    void testStreamBooks() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/books").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(allOf(
+                        containsString("\"title\":\"One Hundred Years of Solitude\""),
+                        containsString("\"title\":\"Love in the Time of Cholera\""),
+                        containsString("\"name\":\"Gabriel García Márquez\""))));
+    }
+
+    @Test
+    @DisplayName("Should return available books as a JSON array when asked for JSON")
+    void testAvailableBooksAsJson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/books/available").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", equalTo(available.getId().intValue())))
+                .andExpect(jsonPath("$[0].author.country", equalTo("Colombia")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown book")
+    void testBookNotFound() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/reactive/books/" + (lent.getId() + 1000)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,54 @@
+package com.biblioteca.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "biblioteca.server-timing.enabled=true",
+        "biblioteca.server-timing.sample-rate=1.0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("integration-test")
+@DisplayName("Server-Timing Header Integration Tests")
+class ServerTimingIT {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should break down a loan listing into db, pool, service and serialization time")
+    void testLoanListingBreakdown() throws Exception {
+        mockMvc.perform(get("/api/loans"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", allOf(
+                        matchesPattern(".*db;desc=\"[1-9]\\d* statements\";dur=\\d+\\.\\d{2}.*"),
+                        matchesPattern(".*pool;desc=\"[1-9]\\d* connections\";dur=\\d+\\.\\d{2}.*"),
+                        containsString("service;dur="),
+                        containsString("serialization;dur="),
+                        containsString("total;dur="))))
+                .andExpect(header().string("Timing-Allow-Origin", "*"));
+    }
+
+    @Test
+    @DisplayName("Should still report timing on responses without a body")
+    void testErrorResponseBreakdown() throws Exception {
+        mockMvc.perform(get("/api/loans/999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
+
+    @Test
+    @DisplayName("Should not touch non-API paths")
+    void testNonApiPathIsNotTimed() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
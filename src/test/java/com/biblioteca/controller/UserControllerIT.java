@@ -113,4 +113,64 @@ class UserControllerIT {
         mockMvc.perform(get("/api/users/999"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("Should POST CSV import and report conflicts")
+    void testImportUsers() throws Exception {
+        String csv = "name,email,memberId,city,active\n"
+                + "Jane Doe,jane@example.com,M002,Madrid,true\n"
+                + "\"Roe, Richard\",richard@example.com,M003,,\n"
+                + "John Again,john@example.com,M004,Sevilla,true\n"
+                + "Jane Twin,jane2@example.com,M002,Madrid,true\n"
+                + "No Email,,M005,Bilbao,true\n";
+
+        mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", equalTo(5)))
+                .andExpect(jsonPath("$.imported", equalTo(2)))
+                .andExpect(jsonPath("$.conflicts", equalTo(3)))
+                .andExpect(jsonPath("$.conflictSamples[*].line", contains(4, 5, 6)))
+                .andExpect(jsonPath("$.conflictSamples[*].reason",
+                        contains("EXISTING", "DUPLICATE_IN_FILE", "INVALID")));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[*].name", hasItem("Roe, Richard")));
+    }
+
+    @Test
+    @DisplayName("Should flag CSV conflicts between rejected rows the same way as the JPA import")
+    void testImportUsersConflictsBetweenRejectedRows() throws Exception {
+        String csv = "name,email,memberId,city,active\n"
+                + ",ana@example.com,M010,Madrid,true\n"
+                + "Ana Pérez,ana@example.com,M010,Madrid,true\n"
+                + "John Again,john@example.com,M020,Sevilla,true\n"
+                + "Luis Gómez,luis@example.com,M020,Bilbao,true\n";
+
+        mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.method", equalTo("COPY")))
+                .andExpect(jsonPath("$.imported", equalTo(1)))
+                .andExpect(jsonPath("$.conflictSamples[*].line", contains(2, 4, 5)))
+                .andExpect(jsonPath("$.conflictSamples[*].reason",
+                        contains("INVALID", "EXISTING", "DUPLICATE_IN_FILE")));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem("ana@example.com")));
+    }
+
+    @Test
+    @DisplayName("Should reject CSV import with unknown columns")
+    void testImportUsersUnknownColumn() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                .contentType("text/csv")
+                .content("name,email,memberId,nickname\nJane,jane@example.com,M002,jd\n"))
+                .andExpect(status().isBadRequest());
+    }
 }
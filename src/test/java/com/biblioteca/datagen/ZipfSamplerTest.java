@@ -0,0 +1,59 @@
+package com.biblioteca.datagen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ZipfSampler Unit Tests")
+class ZipfSamplerTest {
+
+    @Test
+    @DisplayName("Should produce the same sequence for the same seed")
+    void testDeterministic() {
+        ZipfSampler sampler = new ZipfSampler(1_000, 1.1);
+        SplittableRandom first = new SplittableRandom(42L);
+        SplittableRandom second = new SplittableRandom(42L);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    @DisplayName("Should favour low ranks following the Zipf law")
+    void testSkew() {
+        int n = 10_000;
+        ZipfSampler sampler = new ZipfSampler(n, 1.0);
+        SplittableRandom random = new SplittableRandom(7L);
+        int[] counts = new int[n];
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 0 && rank < n);
+            counts[rank]++;
+        }
+
+        double harmonic = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            harmonic += 1.0 / rank;
+        }
+        double expectedTop = samples / harmonic;
+        assertEquals(expectedTop, counts[0], expectedTop * 0.05);
+        assertEquals(expectedTop / 2, counts[1], expectedTop * 0.05);
+
+        int topOnePercent = 0;
+        for (int rank = 0; rank < n / 100; rank++) {
+            topOnePercent += counts[rank];
+        }
+        assertTrue(topOnePercent > samples / 2, "top 1% of ranks drew " + topOnePercent + " samples");
+    }
+
+    @Test
+    @DisplayName("Should reject an empty population")
+    void testEmptyPopulation() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.biblioteca.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DataOperationAspect Tests")
+class DataOperationAspectTest {
+
+    @Service
+    static class CatalogService {
+        public List<String> listTitles() {
+            return List.of("Dune", "Emma", "Ubik");
+        }
+
+        public void removeTitle(String title) {
+            throw new IllegalArgumentException(title);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count rows of the common repository return types")
+    void testRowCount() {
+        assertEquals(0, DataOperationAspect.rowCount("findById", null));
+        assertEquals(2, DataOperationAspect.rowCount("findAll", List.of("a", "b")));
+        assertEquals(1, DataOperationAspect.rowCount("findById", Optional.of("a")));
+        assertEquals(0, DataOperationAspect.rowCount("findById", Optional.empty()));
+        assertEquals(3, DataOperationAspect.rowCount("findAll", new PageImpl<>(List.of("a", "b", "c"))));
+        assertEquals(7, DataOperationAspect.rowCount("decrementAvailableCopies", 7));
+        assertEquals(1, DataOperationAspect.rowCount("countByUserId", 42L));
+        assertEquals(1, DataOperationAspect.rowCount("save", new Object()));
+    }
+
+    @Test
+    @DisplayName("Should emit one event per call with entity type, operation, rows and outcome")
+    void testEventsAreRecorded() throws Exception {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CatalogService());
+        factory.addAspect(new DataOperationAspect());
+        CatalogService service = factory.getProxy();
+
+        Path file = Files.createTempFile("data-operation-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DataOperationEvent.NAME);
+            recording.start();
+            service.listTitles();
+            assertThrows(IllegalArgumentException.class, () -> service.removeTitle("Dune"));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(DataOperationEvent.NAME))
+                    .toList();
+
+            assertEquals(2, events.size());
+            RecordedEvent list = events.get(0);
+            assertEquals("service", list.getString("layer"));
+            assertEquals("Catalog", list.getString("entityType"));
+            assertEquals("listTitles", list.getString("operation"));
+            assertEquals(3, list.getInt("rowCount"));
+            assertEquals("success", list.getString("outcome"));
+            RecordedEvent remove = events.get(1);
+            assertEquals(-1, remove.getInt("rowCount"));
+            assertEquals("IllegalArgumentException", remove.getString("outcome"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.biblioteca.jfr;
+
+import com.biblioteca.dto.RecordingStatus;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OnDemandRecorder Tests")
+class OnDemandRecorderTest {
+    private final OnDemandRecorder recorder = new OnDemandRecorder(Duration.ofMinutes(1), 10 * 1024 * 1024);
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    @Test
+    @DisplayName("Should cap the requested duration at the configured maximum")
+    void testDurationIsBounded() {
+        RecordingStatus status = recorder.start(Duration.ofHours(2), "default");
+
+        assertEquals("RUNNING", status.getState());
+        assertEquals(60, status.getDurationSeconds());
+        assertEquals(10 * 1024 * 1024, status.getMaxSizeBytes());
+    }
+
+    @Test
+    @DisplayName("Should refuse a second recording while one is running")
+    void testSingleRecording() {
+        recorder.start(Duration.ofSeconds(30), "default");
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> recorder.start(Duration.ofSeconds(30), "default"));
+        assertEquals("A recording is already running", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings and stopping without a recording")
+    void testInvalidRequests() {
+        assertThrows(RuntimeException.class, () -> recorder.start(null, "/etc/custom.jfc"));
+        assertThrows(RuntimeException.class, recorder::stop);
+        assertEquals("NONE", recorder.status().getState());
+    }
+
+    @Test
+    @DisplayName("Should dump a readable recording without environment variables")
+    void testStopDumpsRecording() throws Exception {
+        recorder.start(null, "default");
+        new DataOperationEvent().commit();
+
+        Path file = recorder.stop();
+        try {
+            assertTrue(Files.size(file) > 0);
+            assertTrue(RecordingFile.readAllEvents(file).stream()
+                    .noneMatch(event -> event.getEventType().getName().equals("jdk.InitialEnvironmentVariable")));
+            assertEquals("NONE", recorder.status().getState());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
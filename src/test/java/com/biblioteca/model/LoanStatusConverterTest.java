@@ -0,0 +1,36 @@
+package com.biblioteca.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoanStatusConverter Tests")
+class LoanStatusConverterTest {
+
+    private final LoanStatusConverter converter = new LoanStatusConverter();
+
+    @Test
+    @DisplayName("Should store each status as its persisted code")
+    void testConvertToDatabaseColumn() {
+        assertEquals((short) 1, converter.convertToDatabaseColumn(LoanStatus.ACTIVE));
+        assertEquals((short) 2, converter.convertToDatabaseColumn(LoanStatus.OVERDUE));
+        assertEquals((short) 3, converter.convertToDatabaseColumn(LoanStatus.RETURNED));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    @DisplayName("Should read every code back to the same status")
+    void testRoundTrip() {
+        for (LoanStatus status : LoanStatus.values()) {
+            assertEquals(status, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status)));
+        }
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown codes")
+    void testUnknownCode() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute((short) 9));
+    }
+}
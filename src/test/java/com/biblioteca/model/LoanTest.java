@@ -29,7 +29,7 @@ class LoanTest {
         loan.setUser(user);
         loan.setLoanDate(loanDate);
         loan.setDueDate(dueDate);
-        loan.setStatus("ACTIVE");
+        loan.setStatus(LoanStatus.ACTIVE);
         return loan;
     }
 
@@ -40,7 +40,7 @@ class LoanTest {
         LocalDate dueDate = loanDate.plusDays(14);
         LocalDate returnDate = loanDate.plusDays(12);
         
-        loan = new Loan(1L, book, user, loanDate, dueDate, returnDate, "RETURNED");
+        loan = new Loan(1L, book, user, loanDate, dueDate, returnDate, LoanStatus.RETURNED);
         
         assertNotNull(loan);
         assertEquals(1L, loan.getId());
@@ -49,7 +49,7 @@ class LoanTest {
         assertEquals(loanDate, loan.getLoanDate());
         assertEquals(dueDate, loan.getDueDate());
         assertEquals(returnDate, loan.getReturnDate());
-        assertEquals("RETURNED", loan.getStatus());
+        assertEquals(LoanStatus.RETURNED, loan.getStatus());
     }
 
     @Test
@@ -61,7 +61,7 @@ class LoanTest {
         assertNull(loan.getId());
         assertNull(loan.getBook());
         assertNull(loan.getUser());
-        assertEquals("ACTIVE", loan.getStatus());
+        assertEquals(LoanStatus.ACTIVE, loan.getStatus());
     }
 
     @Test
@@ -124,13 +124,13 @@ class LoanTest {
         LocalDate loanDate = LocalDate.now();
         loan = createLoan(book, user, loanDate, loanDate.plusDays(14));
         
-        assertEquals("ACTIVE", loan.getStatus());
+        assertEquals(LoanStatus.ACTIVE, loan.getStatus());
         
-        loan.setStatus("RETURNED");
-        assertEquals("RETURNED", loan.getStatus());
+        loan.setStatus(LoanStatus.RETURNED);
+        assertEquals(LoanStatus.RETURNED, loan.getStatus());
         
-        loan.setStatus("OVERDUE");
-        assertEquals("OVERDUE", loan.getStatus());
+        loan.setStatus(LoanStatus.OVERDUE);
+        assertEquals(LoanStatus.OVERDUE, loan.getStatus());
     }
 
     @Test
@@ -140,7 +140,7 @@ class LoanTest {
         LocalDate dueDate = LocalDate.now().minusDays(5);
         
         loan = createLoan(book, user, loanDate, dueDate);
-        loan.setStatus("ACTIVE");
+        loan.setStatus(LoanStatus.ACTIVE);
         
         assertTrue(LocalDate.now().isAfter(loan.getDueDate()));
     }
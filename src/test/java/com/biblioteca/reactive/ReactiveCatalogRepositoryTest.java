@@ -0,0 +1,96 @@
+package com.biblioteca.reactive;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReactiveCatalogRepository Tests")
+class ReactiveCatalogRepositoryTest {
+    private ReactiveCatalogRepository catalogRepository;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem:///reactive-catalog;DB_CLOSE_DELAY=-1"));
+        Flux.concat(
+                        databaseClient.sql("DROP TABLE IF EXISTS books").then(),
+                        databaseClient.sql("DROP TABLE IF EXISTS authors").then(),
+                        databaseClient.sql("CREATE TABLE authors (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                                + "country VARCHAR(255), birth_year INT)").then(),
+                        databaseClient.sql("CREATE TABLE books (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                                + "isbn VARCHAR(255) NOT NULL, author_id BIGINT NOT NULL REFERENCES authors(id), "
+                                + "publication_year INT, description VARCHAR(255), copies INT NOT NULL, "
+                                + "available_copies INT NOT NULL)").then(),
+                        databaseClient.sql("INSERT INTO authors VALUES (1, 'Gabriel García Márquez', 'Colombia', 1927), "
+                                + "(2, 'Isabel Allende', 'Chile', 1942)").then(),
+                        databaseClient.sql("INSERT INTO books VALUES "
+                                + "(10, 'Cien años de soledad', '978-0307474728', 1, 1967, 'Macondo', 3, 2), "
+                                + "(11, 'El amor en los tiempos del cólera', '978-0307387264', 1, 1985, NULL, 1, 0), "
+                                + "(12, 'La casa de los espíritus', '978-1501117015', 2, 1982, NULL, 2, 2)").then())
+                .blockLast();
+        catalogRepository = new ReactiveCatalogRepository(databaseClient, 2);
+    }
+
+    @Test
+    @DisplayName("Should stream every book with its author in id order")
+    void testFindAllBooks() {
+        StepVerifier.create(catalogRepository.findAllBooks())
+                .assertNext(book -> {
+                    assertEquals(10L, book.getId());
+                    assertEquals("Cien años de soledad", book.getTitle());
+                    assertEquals("978-0307474728", book.getIsbn());
+                    assertEquals(1967, book.getPublicationYear());
+                    assertEquals(3, book.getCopies());
+                    assertEquals(2, book.getAvailableCopies());
+                    assertEquals(1L, book.getAuthor().getId());
+                    assertEquals("Gabriel García Márquez", book.getAuthor().getName());
+                    assertEquals(1927, book.getAuthor().getBirthYear());
+                })
+                .assertNext(book -> assertEquals(11L, book.getId()))
+                .assertNext(book -> assertEquals("Isabel Allende", book.getAuthor().getName()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should only stream books with available copies")
+    void testFindAvailableBooks() {
+        StepVerifier.create(catalogRepository.findAvailableBooks().map(book -> book.getId()))
+                .expectNext(10L, 12L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should honour backpressure from the subscriber")
+    void testBackpressure() {
+        StepVerifier.create(catalogRepository.findAllBooks(), 1)
+                .expectNextCount(1)
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should find a book by id or complete empty")
+    void testFindBookById() {
+        StepVerifier.create(catalogRepository.findBookById(12L))
+                .assertNext(book -> assertEquals("La casa de los espíritus", book.getTitle()))
+                .verifyComplete();
+        StepVerifier.create(catalogRepository.findBookById(99L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should stream all authors")
+    void testFindAllAuthors() {
+        StepVerifier.create(catalogRepository.findAllAuthors())
+                .assertNext(author -> assertEquals("Colombia", author.getCountry()))
+                .assertNext(author -> assertEquals("Isabel Allende", author.getName()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,298 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.service.LoanArchiver;
+import com.biblioteca.support.StatementCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads large synthetic tables, calls every repository finder, and runs {@code EXPLAIN} on the SQL
+ * Hibernate generated for it, with the call's arguments inlined. A finder fails if its plan reads the
+ * table it filters with a sequential scan. Tables joined through an entity graph are left to the
+ * planner, which may rightly hash-join a whole table when many rows match.
+ *
+ * <p>Not covered: {@code findAll}, {@code countLoansByBook} and {@code streamAllForExport} read whole
+ * tables by design, and so does {@code findByAvailableCopiesGreaterThan}: its only caller passes 0, which
+ * matches nearly every book, so it has no index (an index on {@code available_copies} would also turn
+ * every checkout and return into a non-HOT update). Arguments are chosen to be selective, as they are in
+ * production.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.biblioteca.support.StatementCounter")
+@ActiveProfiles("integration-test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Repository Query Plan Tests")
+class QueryPlanIT {
+    private static final int AUTHORS = 20_000;
+    private static final int BOOKS = 100_000;
+    private static final int USERS = 50_000;
+    private static final int LOANS = 300_000;
+    private static final int ARCHIVED_LOANS = 100_000;
+    private static final long LARGE_TABLE_ROWS = 10_000;
+    private static final long MIN_SCANNED_ROWS = 1_000;
+    private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2099, 12, 31);
+
+    private static final LocalDate ARCHIVE_CUTOFF = LocalDate.of(2024, 1, 1);
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final Pattern LOAN_PARTITION = Pattern.compile(" on (loans_p(\\d{6})|loans_default)\\b");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private LoanArchiver loanArchiver;
+
+    @BeforeAll
+    void loadSyntheticTables() {
+        truncate();
+        jdbcTemplate.update("INSERT INTO authors (id, name, country, birth_year) "
+                + "SELECT g, 'Autor ' || g, 'País ' || (g % 200), 1900 + g % 100 FROM generate_series(1, ?) g",
+                AUTHORS);
+        jdbcTemplate.update("INSERT INTO books (id, title, isbn, author_id, publication_year, description, copies, "
+                + "available_copies) SELECT g, 'Título ' || g, 'ISBN-' || g, 1 + (g * 7919) % ?, 1950 + g % 70, "
+                + "'Descripción ' || g, 5, g % 5 FROM generate_series(1, ?) g",
+                AUTHORS, BOOKS);
+        jdbcTemplate.update("INSERT INTO users (id, name, email, member_id, city, active) "
+                + "SELECT g, 'Socio ' || g, 'socio' || g || '@example.com', 'M' || g, 'Madrid', true "
+                + "FROM generate_series(1, ?) g",
+                USERS);
+        // Production shape: almost every loan is returned, a few are active or overdue
+        jdbcTemplate.queryForObject("SELECT ensure_loan_partitions(DATE '2023-01-01', DATE '2024-12-01')",
+                Integer.class);
+        jdbcTemplate.update("INSERT INTO loans (id, book_id, user_id, loan_date, due_date, return_date, status) "
+                + "SELECT g, 1 + (g * 7919) % ?, 1 + (g * 104729) % ?, DATE '2023-01-01' + g % 700, "
+                + "DATE '2023-01-15' + g % 700, CASE WHEN g % 1000 > 1 THEN DATE '2023-01-10' + g % 700 END, "
+                + "CASE g % 1000 WHEN 0 THEN ? WHEN 1 THEN ? ELSE ? END FROM generate_series(1, ?) g",
+                BOOKS, USERS, LoanStatus.ACTIVE.getCode(), LoanStatus.OVERDUE.getCode(),
+                LoanStatus.RETURNED.getCode(), LOANS);
+        jdbcTemplate.update("INSERT INTO loans_archive (id, book_id, user_id, loan_date, due_date, return_date) "
+                + "SELECT ? + g, 1 + (g * 7919) % ?, 1 + (g * 104729) % ?, DATE '2020-01-01' + g % 700, "
+                + "DATE '2020-01-15' + g % 700, DATE '2020-01-10' + g % 700 FROM generate_series(1, ?) g",
+                LOANS, BOOKS, USERS, ARCHIVED_LOANS);
+        // Archives 2023's returned loans and retires its partitions, as the nightly job does
+        loanArchiver.archive(ARCHIVE_CUTOFF);
+        jdbcTemplate.execute("VACUUM ANALYZE authors, books, users, loans, loans_archive");
+    }
+
+    @AfterAll
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE loans, loans_archive, books, users, authors, sweep_checkpoints");
+    }
+
+    @Test
+    @DisplayName("Should serve every AuthorRepository finder from an index")
+    void testAuthorFinders() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "findByName", "authors", () -> authorRepository.findByName("Autor 777"), "Autor 777");
+        check(failures, "findByCountry", "authors", () -> authorRepository.findByCountry("País 42"), "País 42");
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("Should serve every BookRepository finder from an index")
+    void testBookFinders() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "findByTitle", "books", () -> bookRepository.findByTitle("Título 4242"), "Título 4242");
+        check(failures, "findByIsbn", "books", () -> bookRepository.findByIsbn("ISBN-4242"), "ISBN-4242");
+        check(failures, "findByAuthorId", "books", () -> bookRepository.findByAuthorId(77L), 77L);
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("Should serve every UserRepository finder from an index")
+    void testUserFinders() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "findByEmail", "users",
+                () -> userRepository.findByEmail("socio4242@example.com"), "socio4242@example.com");
+        check(failures, "findByMemberId", "users", () -> userRepository.findByMemberId("M4242"), "M4242");
+        check(failures, "findByEmailInOrMemberIdIn", "users",
+                () -> userRepository.findByEmailInOrMemberIdIn(
+                        List.of("socio1@example.com", "socio2@example.com"), List.of("M3", "M4")),
+                "socio1@example.com", "socio2@example.com", "M3", "M4");
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("Should serve every LoanRepository finder from an index")
+    void testLoanFinders() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "findByUserId", "loans", () -> loanRepository.findByUserId(4242L), 4242L);
+        check(failures, "findByBookId", "loans", () -> loanRepository.findByBookId(4242L), 4242L);
+        check(failures, "findByStatus(ACTIVE)", "loans",
+                () -> loanRepository.findByStatus(LoanStatus.ACTIVE), LoanStatus.ACTIVE.getCode());
+        check(failures, "findByStatus(OVERDUE)", "loans",
+                () -> loanRepository.findByStatus(LoanStatus.OVERDUE), LoanStatus.OVERDUE.getCode());
+        check(failures, "findByUserIdAndStatus(ACTIVE)", "loans",
+                () -> loanRepository.findByUserIdAndStatus(4242L, LoanStatus.ACTIVE),
+                4242L, LoanStatus.ACTIVE.getCode());
+        check(failures, "findByUserIdAndStatus(RETURNED)", "loans",
+                () -> loanRepository.findByUserIdAndStatus(4242L, LoanStatus.RETURNED),
+                4242L, LoanStatus.RETURNED.getCode());
+        check(failures, "findBookIdById", "loans", () -> loanRepository.findBookIdById(4242L), 4242L);
+        check(failures, "findMaxId", "loans", () -> loanRepository.findMaxId());
+        check(failures, "findHistoryByUserId", "loans",
+                () -> loanRepository.findHistoryByUserId(4242L, EnumSet.allOf(LoanStatus.class), FROM, TO, TO,
+                        Long.MAX_VALUE, PageRequest.of(0, 51)),
+                4242L, LoanStatus.ACTIVE.getCode(), LoanStatus.OVERDUE.getCode(), LoanStatus.RETURNED.getCode(),
+                FROM, TO, TO, TO, TO, Long.MAX_VALUE, 51);
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("Should only touch recent loan partitions and loans_default once old months are retired")
+    void testLoanFindersTouchOnlyRecentPartitions() {
+        List<String> failures = new ArrayList<>();
+        checkPartitions(failures, "findByUserId", () -> loanRepository.findByUserId(4242L), 4242L);
+        checkPartitions(failures, "findById", () -> loanRepository.findById(250_000L), 250_000L);
+        checkPartitions(failures, "findBookIdById", () -> loanRepository.findBookIdById(250_000L), 250_000L);
+        checkPartitions(failures, "findByUserIdAndStatus(ACTIVE)",
+                () -> loanRepository.findByUserIdAndStatus(4242L, LoanStatus.ACTIVE),
+                4242L, LoanStatus.ACTIVE.getCode());
+        checkPartitions(failures, "findByStatus(OVERDUE)",
+                () -> loanRepository.findByStatus(LoanStatus.OVERDUE), LoanStatus.OVERDUE.getCode());
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    @Test
+    @DisplayName("Should serve every ArchivedLoanRepository finder from an index")
+    void testArchivedLoanFinders() {
+        List<String> failures = new ArrayList<>();
+        check(failures, "findByUserId", "loans_archive", () -> archivedLoanRepository.findByUserId(4242L), 4242L);
+        check(failures, "findHistoryByUserId", "loans_archive",
+                () -> archivedLoanRepository.findHistoryByUserId(4242L, FROM, TO, TO, Long.MAX_VALUE,
+                        PageRequest.of(0, 51)),
+                4242L, FROM, TO, TO, TO, TO, Long.MAX_VALUE, 51);
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /**
+     * Runs {@code finder}, explains the first statement it sent with {@code parameters} bound in order,
+     * and records a failure if the plan scans {@code table}, or one of its partitions that holds data,
+     * sequentially. Empty partitions (future months, the default partition) are always scanned: that costs
+     * nothing.
+     */
+    private void check(List<String> failures, String finder, String table, Runnable call, Object... parameters) {
+        Map<String, Long> rowsByRelation = new HashMap<>();
+        jdbcTemplate.query("SELECT relname, greatest(reltuples, 0)::bigint FROM pg_class "
+                        + "WHERE oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = ?::regclass)",
+                (ResultSet row) -> {
+                    rowsByRelation.put(row.getString(1), row.getLong(2));
+                }, table);
+        if (rowsByRelation.isEmpty()) {
+            rowsByRelation.put(table, jdbcTemplate.queryForObject(
+                    "SELECT greatest(reltuples, 0)::bigint FROM pg_class WHERE oid = ?::regclass", Long.class, table));
+        }
+        long rows = rowsByRelation.values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(rows >= LARGE_TABLE_ROWS, table + " is too small to test plans: " + rows);
+
+        StatementCounter.reset();
+        call.run();
+        List<String> statements = StatementCounter.statements();
+        assertFalse(statements.isEmpty(), finder + " sent no SQL");
+        String sql = inline(statements.get(0), parameters);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        for (String line : plan) {
+            Matcher matcher = SEQ_SCAN.matcher(line);
+            if (matcher.find() && rowsByRelation.getOrDefault(matcher.group(1), 0L) >= MIN_SCANNED_ROWS) {
+                failures.add(finder + " scans " + matcher.group(1) + " sequentially:\n  " + sql + "\n  "
+                        + String.join("\n  ", plan));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs {@code finder}, explains its first statement, and records a failure if the plan reads a monthly
+     * partition of {@code loans} that ends before {@link #ARCHIVE_CUTOFF}.
+     */
+    private void checkPartitions(List<String> failures, String finder, Runnable call, Object... parameters) {
+        StatementCounter.reset();
+        call.run();
+        List<String> statements = StatementCounter.statements();
+        assertFalse(statements.isEmpty(), finder + " sent no SQL");
+        String sql = inline(statements.get(0), parameters);
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        Set<String> touched = new TreeSet<>();
+        String oldestAllowed = String.format("%d%02d", ARCHIVE_CUTOFF.getYear(), ARCHIVE_CUTOFF.getMonthValue());
+        for (String line : plan) {
+            Matcher matcher = LOAN_PARTITION.matcher(line);
+            while (matcher.find()) {
+                touched.add(matcher.group(1));
+                if (matcher.group(2) != null && matcher.group(2).compareTo(oldestAllowed) < 0) {
+                    failures.add(finder + " reads retired month " + matcher.group(1) + ":\n  " + sql + "\n  "
+                            + String.join("\n  ", plan));
+                    return;
+                }
+            }
+        }
+        assertFalse(touched.isEmpty(), finder + " reads no loan partition:\n  " + String.join("\n  ", plan));
+    }
+
+    private static String inline(String sql, Object... parameters) {
+        StringBuilder inlined = new StringBuilder(sql.length() + 64);
+        int next = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                inlined.append(c);
+                continue;
+            }
+            assertTrue(next < parameters.length, "More parameters than given in: " + sql);
+            inlined.append(literal(parameters[next++]));
+        }
+        assertEquals(parameters.length, next, "Fewer parameters than given in: " + sql);
+        return inlined.toString();
+    }
+
+    private static String literal(Object value) {
+        if (value instanceof Number) {
+            return value.toString();
+        }
+        if (value instanceof LocalDate date) {
+            return "DATE '" + date + "'";
+        }
+        return "'" + value.toString().replace("'", "''") + "'";
+    }
+}
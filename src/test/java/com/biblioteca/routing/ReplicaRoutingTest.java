@@ -0,0 +1,174 @@
+package com.biblioteca.routing;
+
+import com.biblioteca.repository.UserRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica. Each has
+ * a {@code node} table naming itself, so a query shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "biblioteca.replica.enabled=true",
+        "biblioteca.replica.datasource.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "biblioteca.replica.datasource.username=sa",
+        "biblioteca.replica.datasource.password=",
+        "biblioteca.replica.datasource.read-only=false",
+        "biblioteca.replica.lag-query=SELECT COALESCE(MAX(seconds), 0) FROM replica_lag",
+        "biblioteca.replica.lag-check-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@DisplayName("Replica Routing Tests")
+class ReplicaRoutingTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        primary.execute("DELETE FROM node");
+        primary.update("INSERT INTO node VALUES ('primary')");
+
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+        replica.execute("DELETE FROM node");
+        replica.update("INSERT INTO node VALUES ('replica')");
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds DOUBLE)");
+        replica.execute("DELETE FROM replica_lag");
+        replica.execute("CREATE TABLE IF NOT EXISTS users (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "email VARCHAR(255) NOT NULL, member_id VARCHAR(255) NOT NULL, city VARCHAR(255), "
+                + "active BOOLEAN NOT NULL)");
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RoutingContext.end();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void testRoutingByTransactionType() {
+        assertEquals("replica", nodeIn(true));
+        assertEquals("primary", nodeIn(false));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags")
+    void testLagFallback() {
+        replica.update("INSERT INTO replica_lag VALUES (30)");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isUsable());
+        assertEquals("primary", nodeIn(true));
+
+        replica.execute("DELETE FROM replica_lag");
+        lagMonitor.check();
+
+        assertEquals("replica", nodeIn(true));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the lag check fails")
+    void testUnreachableReplicaFallback() {
+        replica.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isUsable());
+        assertEquals("primary", nodeIn(true));
+    }
+
+    @Test
+    @DisplayName("Should pin the rest of the request to the primary after a write")
+    void testStickyAfterWriteInSameRequest() {
+        AtomicInteger writes = new AtomicInteger();
+        RoutingContext.begin(false, writes::incrementAndGet);
+
+        assertEquals("replica", nodeIn(true));
+        assertEquals("primary", nodeIn(false));
+        assertEquals("primary", nodeIn(true));
+        nodeIn(false);
+
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    @DisplayName("Should let a client read its own writes through the cookie set on write")
+    void testReadYourWritesAcrossRequests() throws Exception {
+        MvcResult created = mockMvc.perform(post("/api/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Ana Pérez\",\"email\":\"ana@example.com\",\"memberId\":\"M-100\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE_NAME))
+                .andReturn();
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+
+        mockMvc.perform(get("/api/users").cookie(sticky))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem("ana@example.com")));
+
+        // Without the cookie the read goes to the replica, which never received the row.
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private String nodeIn(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node",
+                String.class));
+    }
+}
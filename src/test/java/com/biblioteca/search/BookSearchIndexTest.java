@@ -0,0 +1,97 @@
+package com.biblioteca.search;
+
+import com.biblioteca.dto.BookSearchHit;
+import com.biblioteca.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BookSearchIndex Unit Tests")
+class BookSearchIndexTest {
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.index(book(1L, "Cien años de soledad", "Novela de realismo mágico de García Márquez"));
+        index.index(book(2L, "El amor en los tiempos del cólera", "Historia de amor en Colombia"));
+        index.index(book(3L, "Crónica de una muerte anunciada", "Novelá de misterio"));
+    }
+
+    private Book book(Long id, String title, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setDescription(description);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Should match regardless of accents and case")
+    void testAccentFolding() {
+        List<BookSearchHit> hits = index.search("GARCIA marquez", 10);
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+
+        assertEquals(2L, index.search("colera", 10).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    void testAllTermsMustMatch() {
+        assertTrue(index.search("amor misterio", 10).isEmpty());
+        assertEquals(1, index.search("amor colombia", 10).size());
+    }
+
+    @Test
+    @DisplayName("Should rank title matches above description matches")
+    void testRanking() {
+        index.index(book(4L, "Novela", "Sin descripción"));
+        List<BookSearchHit> hits = index.search("novela", 10);
+        assertEquals(3, hits.size());
+        assertEquals(4L, hits.get(0).getId());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("Should replace the terms of a book when it is re-indexed")
+    void testUpdate() {
+        index.index(book(1L, "One Hundred Years of Solitude", null));
+        assertTrue(index.search("soledad", 10).isEmpty());
+        assertEquals(1L, index.search("solitude", 10).get(0).getId());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should forget removed books")
+    void testRemove() {
+        index.remove(2L);
+        assertTrue(index.search("amor", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep results consistent after compacting tombstones")
+    void testCompaction() {
+        for (long id = 10; id < 3_000; id++) {
+            index.index(book(id, "Libro " + id, "Ejemplar de prueba"));
+        }
+        for (long id = 10; id < 3_000; id++) {
+            index.remove(id);
+        }
+        assertEquals(3, index.size());
+        assertTrue(index.search("ejemplar", 10).isEmpty());
+        assertEquals(3L, index.search("anunciada", 10).get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should return at most the requested number of hits")
+    void testLimit() {
+        assertEquals(1, index.search("novela", 1).size());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+}
@@ -0,0 +1,181 @@
+package com.biblioteca.search;
+
+import com.biblioteca.dto.Suggestion;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SuggestionIndex Unit Tests")
+class SuggestionIndexTest {
+    private static final Logger log = LoggerFactory.getLogger(SuggestionIndexTest.class);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @InjectMocks
+    private SuggestionIndex index;
+
+    private Author garcia;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        garcia = new Author(1L, "Gabriel García Márquez", "Colombia", 1927);
+        index.upsertAuthor(garcia);
+        index.upsertBook(book(1L, "Cien años de soledad"));
+        index.upsertBook(book(2L, "Crónica de una muerte anunciada"));
+        index.upsertBook(book(3L, "Ficciones"));
+    }
+
+    private Book book(Long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(garcia);
+        return book;
+    }
+
+    @Test
+    @DisplayName("Should match normalized prefixes of titles and author names")
+    void testPrefixMatch() {
+        List<Suggestion> suggestions = index.suggest("CIEN AÑ", 10);
+        assertEquals(1, suggestions.size());
+        assertEquals("Cien años de soledad", suggestions.get(0).getText());
+        assertEquals(SuggestionIndex.BOOK, suggestions.get(0).getType());
+
+        Suggestion author = index.suggest("gabriel garc", 10).get(0);
+        assertEquals(SuggestionIndex.AUTHOR, author.getType());
+        assertEquals(1L, author.getId());
+    }
+
+    @Test
+    @DisplayName("Should rank suggestions by popularity")
+    void testPopularityRanking() {
+        index.recordLoan(book(2L, "Crónica de una muerte anunciada"));
+        index.recordLoan(book(2L, "Crónica de una muerte anunciada"));
+        index.recordLoan(book(1L, "Cien años de soledad"));
+
+        List<Suggestion> suggestions = index.suggest("c", 10);
+        assertEquals(2, suggestions.size());
+        assertEquals(2L, suggestions.get(0).getId());
+        assertEquals(2, suggestions.get(0).getPopularity());
+        assertEquals(3, index.suggest("gabriel", 1).get(0).getPopularity());
+    }
+
+    @Test
+    @DisplayName("Should follow renames and removals while keeping popularity")
+    void testUpdates() {
+        index.recordLoan(book(3L, "Ficciones"));
+        index.upsertBook(book(3L, "El Aleph"));
+        assertTrue(index.suggest("ficc", 10).isEmpty());
+        Suggestion renamed = index.suggest("el al", 10).get(0);
+        assertEquals(3L, renamed.getId());
+        assertEquals(1, renamed.getPopularity());
+
+        index.removeBook(3L);
+        assertTrue(index.suggest("el al", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("Should stay consistent and compact across snapshot rebuilds")
+    void testCompactionAndFootprint() {
+        int titles = 100_000;
+        for (long id = 100; id < 100 + titles; id++) {
+            index.upsertBook(book(id, "Libro de prueba número " + id));
+        }
+        assertEquals(titles + 4, index.size());
+        assertEquals(3, index.suggest("libro de prueba numero 5000", 3).size());
+        assertEquals("Cien años de soledad", index.suggest("cien", 1).get(0).getText());
+
+        long bytesPerEntry = index.estimatedMemoryBytes() / index.size();
+        log.info("Suggestion index footprint: {} bytes per entry (~{} MB per million titles)",
+                bytesPerEntry, bytesPerEntry * 1_000_000L / (1024 * 1024));
+        assertTrue(bytesPerEntry < 150, "bytes per entry: " + bytesPerEntry);
+    }
+
+    @Test
+    @DisplayName("Should serve wide prefixes from popularity buckets that follow new loans and removals")
+    void testWidePrefixBuckets() {
+        int titles = SuggestionIndex.BUCKET_MIN_RANGE * 4;
+        for (long id = 100; id < 100 + titles; id++) {
+            index.upsertBook(book(id, "Título " + id));
+        }
+        assertEquals(titles + 4, index.size());
+
+        Book deep = book(2000L, "Título 2000");
+        index.recordLoan(deep);
+        index.recordLoan(deep);
+        index.recordLoan(book(150L, "Título 150"));
+        List<Suggestion> suggestions = index.suggest("tit", 2);
+        assertEquals(deep.getId(), suggestions.get(0).getId());
+        assertEquals(2, suggestions.get(0).getPopularity());
+        assertEquals(150L, suggestions.get(1).getId());
+        assertEquals(deep.getId(), index.suggest("t", 1).get(0).getId());
+
+        index.removeBook(deep.getId());
+        assertEquals(150L, index.suggest("tit", 1).get(0).getId());
+        assertEquals(SuggestionIndex.BUCKET_SIZE, index.suggest("tit", SuggestionIndex.BUCKET_SIZE).size());
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a rebuild reads the catalog")
+    void testWritesDuringRebuild() {
+        Book paramo = new Book();
+        paramo.setId(4L);
+        paramo.setTitle("Pedro Páramo");
+        when(loanRepository.countLoansByBook()).thenReturn(List.of());
+        when(authorRepository.findAll()).thenReturn(List.of(garcia));
+        // The page is read before the writes below, so it still has book 2 and the old title of book 3.
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            List<Book> page = List.of(book(1L, "Cien años de soledad"),
+                    book(2L, "Crónica de una muerte anunciada"), book(3L, "Ficciones"));
+            index.removeBook(2L);
+            index.upsertBook(book(3L, "El Aleph"));
+            index.upsertBook(paramo);
+            index.recordLoan(book(1L, "Cien años de soledad"));
+            assertTrue(index.suggest("cronica", 10).isEmpty());
+            return page;
+        });
+
+        index.rebuild();
+
+        assertTrue(index.suggest("cronica", 10).isEmpty());
+        assertTrue(index.suggest("ficc", 10).isEmpty());
+        assertEquals(3L, index.suggest("el al", 10).get(0).getId());
+        assertEquals(4L, index.suggest("pedro", 10).get(0).getId());
+        assertEquals(1, index.suggest("cien", 10).get(0).getPopularity());
+        assertEquals(1, index.suggest("gabriel", 10).get(0).getPopularity());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should ignore blank prefixes")
+    void testBlankPrefix() {
+        assertTrue(index.suggest("  ", 10).isEmpty());
+        assertTrue(index.suggest(null, 10).isEmpty());
+    }
+}
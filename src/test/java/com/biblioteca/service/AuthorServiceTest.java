@@ -1,13 +1,17 @@
 package com.biblioteca.service;
 
+import com.biblioteca.concurrency.RequestCoalescer;
 import com.biblioteca.model.Author;
 import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.search.SuggestionIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +25,12 @@ class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Spy
+    private RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -74,6 +84,7 @@ class AuthorServiceTest {
         assertNotNull(created);
         assertEquals("Gabriel García Márquez", created.getName());
         verify(authorRepository, times(1)).save(author);
+        verify(suggestionIndex, times(1)).upsertAuthor(author);
     }
 
     @Test
@@ -99,6 +110,7 @@ class AuthorServiceTest {
     void testDeleteAuthor() {
         authorService.deleteAuthor(1L);
         verify(authorRepository, times(1)).deleteById(1L);
+        verify(suggestionIndex, times(1)).removeAuthor(1L);
     }
 
     @Test
@@ -0,0 +1,88 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.BulkImportResult;
+import com.biblioteca.model.Author;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:postgresql://localhost:5432/biblioteca?reWriteBatchedInserts=true")
+@ActiveProfiles("integration-test")
+@DisplayName("BookImportService Bulk Import Benchmark")
+class BookBulkImportBenchmarkIT {
+    private static final Logger log = LoggerFactory.getLogger(BookBulkImportBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("bulk.rows", 200_000);
+    private static final long MIN_ROWS_PER_SECOND = Long.getLong("bulk.minRowsPerSecond", 20_000);
+    private static final int AUTHORS = 100;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    private final List<Long> authorIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setName("Autor " + i);
+            authorIds.add(authorRepository.save(author).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        loanRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should import the catalog feed with JDBC batching above the target rate")
+    void testBulkImportThroughput() throws Exception {
+        ByteArrayOutputStream feed = new ByteArrayOutputStream(ROWS * 160);
+        for (int i = 0; i < ROWS; i++) {
+            String line = "{\"title\":\"Título de catálogo " + i + "\",\"isbn\":\"978-" + (1_000_000_000L + i)
+                    + "\",\"author\":{\"id\":" + authorIds.get(i % AUTHORS) + "},\"publicationYear\":"
+                    + (1900 + i % 120) + ",\"description\":\"Descripción generada " + i
+                    + "\",\"copies\":3,\"availableCopies\":3}\n";
+            feed.write(line.getBytes(StandardCharsets.UTF_8));
+        }
+
+        BulkImportResult result = bookImportService.importBooks(new ByteArrayInputStream(feed.toByteArray()));
+
+        log.info("Imported {} books in {} batches in {} ms ({} rows/s)", result.getImported(),
+                result.getBatches(), result.getElapsedMillis(), result.getRowsPerSecond());
+        assertEquals(ROWS, result.getImported());
+        assertEquals(ROWS, bookRepository.count());
+        assertTrue(result.getRowsPerSecond() >= MIN_ROWS_PER_SECOND,
+                "expected at least " + MIN_ROWS_PER_SECOND + " rows/s but got " + result.getRowsPerSecond());
+    }
+}
@@ -1,14 +1,21 @@
 package com.biblioteca.service;
 
+import com.biblioteca.concurrency.RequestCoalescer;
+import com.biblioteca.dto.CursorPage;
 import com.biblioteca.model.Book;
 import com.biblioteca.model.Author;
 import com.biblioteca.repository.BookRepository;
+import com.biblioteca.search.BookSearchIndex;
+import com.biblioteca.search.SuggestionIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,15 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Spy
+    private RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private BookService bookService;
 
@@ -54,6 +70,50 @@ class BookServiceTest {
         verify(bookRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Should return a single page without cursor when no more books exist")
+    void testGetBooksPageLastPage() {
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(book));
+        CursorPage<Book> page = bookService.getBooksPage(null, 2);
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should return a next cursor that resumes after the last book of the page")
+    void testGetBooksPageWithNextCursor() {
+        Book second = new Book();
+        second.setId(2L);
+        Book third = new Book();
+        third.setId(3L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(book, second, third));
+        CursorPage<Book> page = bookService.getBooksPage(null, 2);
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasNext());
+
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(third));
+        CursorPage<Book> nextPage = bookService.getBooksPage(page.getNext(), 2);
+        assertEquals(3L, nextPage.getItems().get(0).getId());
+        assertFalse(nextPage.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should cap the requested page size")
+    void testGetBooksPageCapsSize() {
+        bookService.getBooksPage(null, 1_000_000);
+        verify(bookRepository).findByIdGreaterThanOrderByIdAsc(0L,
+                PageRequest.of(0, BookService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testGetBooksPageInvalidCursor() {
+        assertThrows(RuntimeException.class, () -> bookService.getBooksPage("not*a*cursor", 10));
+    }
+
     @Test
     @DisplayName("Should retrieve book by ID")
     void testGetBookById() {
@@ -71,6 +131,8 @@ class BookServiceTest {
         assertNotNull(created);
         assertEquals("978-0060883287", created.getIsbn());
         verify(bookRepository, times(1)).save(book);
+        verify(searchIndex, times(1)).index(book);
+        verify(suggestionIndex, times(1)).upsertBook(book);
     }
 
     @Test
@@ -97,6 +159,24 @@ class BookServiceTest {
     void testDeleteBook() {
         bookService.deleteBook(1L);
         verify(bookRepository, times(1)).deleteById(1L);
+        verify(searchIndex, times(1)).remove(1L);
+        verify(suggestionIndex, times(1)).removeBook(1L);
+    }
+
+    @Test
+    @DisplayName("Should suggest titles through the prefix index with a capped limit")
+    void testSuggest() {
+        bookService.suggest("cien", 10_000);
+        verify(suggestionIndex, times(1)).suggest("cien", BookService.MAX_SUGGEST_LIMIT);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should search books through the in-memory index with a capped limit")
+    void testSearchBooks() {
+        bookService.searchBooks("soledad", 10_000);
+        verify(searchIndex, times(1)).search("soledad", BookService.MAX_SEARCH_LIMIT);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
@@ -0,0 +1,46 @@
+package com.biblioteca.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CsvReader Unit Tests")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should parse quoted fields, escaped quotes and CRLF line endings")
+    void testQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "name,email\r\n\"Doe, John\",\"say \"\"hi\"\"\"\r\n,\"\"\r\n"));
+
+        assertEquals(Arrays.asList("name", "email"), reader.next());
+        assertEquals(Arrays.asList("Doe, John", "say \"hi\""), reader.next());
+        assertEquals(Arrays.asList(null, ""), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should not read past the current line")
+    void testStopsAtLineEnd() throws IOException {
+        StringReader source = new StringReader("\"name\",\"email\"\nrest");
+        CsvReader reader = new CsvReader(source);
+
+        assertEquals(Arrays.asList("name", "email"), reader.next());
+        char[] rest = new char[4];
+        assertEquals(4, source.read(rest));
+        assertEquals("rest", new String(rest));
+    }
+
+    @Test
+    @DisplayName("Should reject an unterminated quoted field")
+    void testUnterminatedQuote() {
+        CsvReader reader = new CsvReader(new StringReader("\"open"));
+
+        assertThrows(RuntimeException.class, reader::next);
+    }
+}
@@ -0,0 +1,173 @@
+package com.biblioteca.service;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"biblioteca.loan-archive.chunk-size=2", "biblioteca.loan-partitions.lock-timeout=200ms"})
+@ActiveProfiles("integration-test")
+@DisplayName("LoanArchiver Integration Tests")
+class LoanArchiverIT {
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 1, 1);
+
+    @Autowired
+    private LoanArchiver archiver;
+
+    @Autowired
+    private LoanPartitionMaintainer partitionMaintainer;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        partitionMaintainer.ensurePartitions(LocalDate.of(2023, 3, 1), LocalDate.of(2024, 6, 1));
+
+        Author author = new Author();
+        author.setName("Gabriel García Márquez");
+        author = authorRepository.save(author);
+
+        book = new Book();
+        book.setTitle("One Hundred Years of Solitude");
+        book.setIsbn("978-0060883287");
+        book.setAuthor(author);
+        book.setCopies(10);
+        book.setAvailableCopies(9);
+        book = bookRepository.save(book);
+
+        user = new User();
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setMemberId("M001");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM loans_archive");
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should move old returned loans to the archive and retire the partitions before the cutoff")
+    void testArchiveMovesReturnedLoans() {
+        List<Loan> loans = new ArrayList<>();
+        // March 2023 also has an overdue loan, May 2023 only has returned ones
+        for (int day = 1; day <= 3; day++) {
+            loans.add(loan(LocalDate.of(2023, 3, day), LoanStatus.RETURNED));
+        }
+        loans.add(loan(LocalDate.of(2023, 3, 20), LoanStatus.OVERDUE));
+        loans.add(loan(LocalDate.of(2023, 5, 2), LoanStatus.RETURNED));
+        loans.add(loan(LocalDate.of(2023, 5, 9), LoanStatus.RETURNED));
+        loans.add(loan(LocalDate.of(2024, 6, 3), LoanStatus.RETURNED));
+        loanRepository.saveAll(loans);
+
+        assertEquals(5, archiver.archive(CUTOFF));
+
+        assertEquals(2, loanRepository.findByUserId(user.getId()).size());
+        assertEquals(5, archivedLoanRepository.findByUserId(user.getId()).size());
+        assertFalse(partitionExists("loans_p202303"), "the overdue loan must not keep its month alive");
+        assertFalse(partitionExists("loans_p202305"));
+        assertTrue(partitionExists("loans_p202406"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM loans_default WHERE status = ?",
+                Integer.class, LoanStatus.OVERDUE.getCode()));
+
+        assertEquals(2, loanService.getLoansByUserId(user.getId()).size());
+        List<Loan> history = loanService.getLoansByUserId(user.getId(), true);
+        assertEquals(7, history.size());
+        assertEquals(6, history.stream().filter(l -> l.getStatus() == LoanStatus.RETURNED).count());
+
+        assertEquals(0, archiver.archive(CUTOFF), "a second run should find nothing left to move");
+    }
+
+    @Test
+    @DisplayName("Should leave a partition for the next run rather than wait behind a running loan query")
+    void testRetirementGivesUpOnLockTimeout() throws Exception {
+        loanRepository.save(loan(LocalDate.of(2023, 3, 20), LoanStatus.OVERDUE));
+
+        try (Connection reader = dataSource.getConnection()) {
+            reader.setAutoCommit(false);
+            try (Statement statement = reader.createStatement()) {
+                // A long read on loans holds ACCESS SHARE until it commits, which DETACH PARTITION must wait for
+                statement.executeQuery("SELECT count(*) FROM loans").close();
+                assertEquals(0, partitionMaintainer.retirePartitionsBefore(CUTOFF));
+                assertTrue(partitionExists("loans_p202303"));
+            }
+            reader.commit();
+        }
+
+        assertTrue(partitionMaintainer.retirePartitionsBefore(CUTOFF) > 0);
+        assertFalse(partitionExists("loans_p202303"));
+        assertEquals(1, loanRepository.findByUserId(user.getId()).size());
+    }
+
+    private boolean partitionExists(String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class,
+                name));
+    }
+
+    private Loan loan(LocalDate loanDate, LoanStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setUser(user);
+        loan.setLoanDate(loanDate);
+        loan.setDueDate(loanDate.plusDays(LoanService.LOAN_PERIOD_DAYS));
+        if (status == LoanStatus.RETURNED) {
+            loan.setReturnDate(loanDate.plusDays(7));
+        }
+        loan.setStatus(status);
+        return loan;
+    }
+}
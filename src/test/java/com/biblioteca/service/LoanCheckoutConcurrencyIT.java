@@ -0,0 +1,130 @@
+package com.biblioteca.service;
+
+import com.biblioteca.exception.NoCopiesAvailableException;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("integration-test")
+@DisplayName("LoanService Checkout Concurrency Tests")
+class LoanCheckoutConcurrencyIT {
+    private static final Logger log = LoggerFactory.getLogger(LoanCheckoutConcurrencyIT.class);
+
+    private static final int COPIES = 50;
+    private static final int CHECKOUTS = 2_000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Book book;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Author author = new Author();
+        author.setName("Gabriel García Márquez");
+        author = authorRepository.save(author);
+
+        book = new Book();
+        book.setTitle("One Hundred Years of Solitude");
+        book.setIsbn("978-0060883287");
+        book.setAuthor(author);
+        book.setCopies(COPIES);
+        book.setAvailableCopies(COPIES);
+        book = bookRepository.save(book);
+
+        user = new User();
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setMemberId("M001");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should never lend more copies than the book has under parallel checkouts")
+    void testParallelCheckoutsDoNotOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < CHECKOUTS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    loanService.checkout(book.getId(), user.getId());
+                    granted.incrementAndGet();
+                } catch (NoCopiesAvailableException ex) {
+                    refused.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        double throughput = CHECKOUTS / (elapsedNanos / 1_000_000_000.0);
+        log.info("{} checkouts on one book with {} threads in {} ms ({} checkouts/s)",
+                CHECKOUTS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(throughput));
+
+        assertEquals(COPIES, granted.get());
+        assertEquals(CHECKOUTS - COPIES, refused.get());
+        assertEquals(0, bookRepository.findById(book.getId()).orElseThrow().getAvailableCopies());
+        assertEquals(COPIES, loanRepository.findByBookId(book.getId()).size());
+    }
+}
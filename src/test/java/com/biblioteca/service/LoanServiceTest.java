@@ -1,21 +1,43 @@
 package com.biblioteca.service;
 
+import com.biblioteca.config.CacheConfig;
+import com.biblioteca.dto.CursorPage;
+import com.biblioteca.dto.LoanHistoryEntry;
+import com.biblioteca.exception.NoCopiesAvailableException;
+import com.biblioteca.model.ArchivedLoan;
 import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
 import com.biblioteca.model.Book;
 import com.biblioteca.model.User;
 import com.biblioteca.model.Author;
+import com.biblioteca.repository.ArchivedLoanRepository;
+import com.biblioteca.repository.BookRepository;
 import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.search.SuggestionIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +47,30 @@ class LoanServiceTest {
     @Mock
     private LoanRepository loanRepository;
 
+    @Mock
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache bookCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private LoanService loanService;
 
@@ -35,6 +81,7 @@ class LoanServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(cacheManager.getCache(CacheConfig.BOOKS)).thenReturn(bookCache);
 
         Author author = new Author();
         author.setId(1L);
@@ -57,7 +104,7 @@ class LoanServiceTest {
         loan.setUser(user);
         loan.setLoanDate(LocalDate.now());
         loan.setDueDate(LocalDate.now().plusDays(14));
-        loan.setStatus("ACTIVE");
+        loan.setStatus(LoanStatus.ACTIVE);
     }
 
     @Test
@@ -75,7 +122,7 @@ class LoanServiceTest {
         when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
         Optional<Loan> result = loanService.getLoanById(1L);
         assertTrue(result.isPresent());
-        assertEquals("ACTIVE", result.get().getStatus());
+        assertEquals(LoanStatus.ACTIVE, result.get().getStatus());
     }
 
     @Test
@@ -84,7 +131,7 @@ class LoanServiceTest {
         when(loanRepository.save(loan)).thenReturn(loan);
         Loan created = loanService.createLoan(loan);
         assertNotNull(created);
-        assertEquals("ACTIVE", created.getStatus());
+        assertEquals(LoanStatus.ACTIVE, created.getStatus());
         verify(loanRepository, times(1)).save(loan);
     }
 
@@ -96,7 +143,7 @@ class LoanServiceTest {
         updatedLoan.setUser(user);
         updatedLoan.setLoanDate(LocalDate.now());
         updatedLoan.setDueDate(LocalDate.now().plusDays(14));
-        updatedLoan.setStatus("RETURNED");
+        updatedLoan.setStatus(LoanStatus.RETURNED);
 
         when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
         when(loanRepository.save(any(Loan.class))).thenReturn(loan);
@@ -122,10 +169,188 @@ class LoanServiceTest {
         verify(loanRepository, times(1)).findByUserId(1L);
     }
 
+    @Test
+    @DisplayName("Should read archived loans only when the full history is requested")
+    void testGetLoansByUserIdFullHistory() {
+        LocalDate loanDate = LocalDate.now().minusYears(2);
+        ArchivedLoan archived = new ArchivedLoan(7L, book, user, loanDate, loanDate.plusDays(14),
+                loanDate.plusDays(10));
+        when(loanRepository.findByUserId(1L)).thenReturn(Arrays.asList(loan));
+        when(archivedLoanRepository.findByUserId(1L)).thenReturn(List.of(archived));
+
+        assertEquals(1, loanService.getLoansByUserId(1L, false).size());
+        verifyNoInteractions(archivedLoanRepository);
+
+        List<Loan> history = loanService.getLoansByUserId(1L, true);
+        assertEquals(2, history.size());
+        assertEquals(7L, history.get(1).getId());
+        assertEquals(LoanStatus.RETURNED, history.get(1).getStatus());
+        assertEquals(loanDate.plusDays(10), history.get(1).getReturnDate());
+    }
+
+    @Test
+    @DisplayName("Should page the loan history newest first and resume after the cursor")
+    void testGetLoanHistoryPaging() {
+        LocalDate today = LocalDate.of(2024, 6, 10);
+        LoanHistoryEntry first = historyEntry(9L, today, LoanStatus.ACTIVE);
+        LoanHistoryEntry second = historyEntry(8L, today.minusDays(3), LoanStatus.RETURNED);
+        LoanHistoryEntry third = historyEntry(4L, today.minusDays(30), LoanStatus.RETURNED);
+        EnumSet<LoanStatus> all = EnumSet.allOf(LoanStatus.class);
+        when(loanRepository.findHistoryByUserId(1L, all, LoanService.EARLIEST_LOAN_DATE,
+                LoanService.LATEST_LOAN_DATE, LoanService.LATEST_LOAN_DATE, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(first, second, third));
+
+        CursorPage<LoanHistoryEntry> page = loanService.getLoanHistory(1L, null, null, null, false, null, 2);
+        assertEquals(List.of(first, second), page.getItems());
+        assertTrue(page.hasNext());
+
+        when(loanRepository.findHistoryByUserId(1L, all, LoanService.EARLIEST_LOAN_DATE,
+                LoanService.LATEST_LOAN_DATE, today.minusDays(3), 8L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(third));
+        CursorPage<LoanHistoryEntry> nextPage = loanService.getLoanHistory(1L, null, null, null, false,
+                page.getNext(), 2);
+        assertEquals(List.of(third), nextPage.getItems());
+        assertFalse(nextPage.hasNext());
+        verifyNoInteractions(archivedLoanRepository);
+    }
+
+    @Test
+    @DisplayName("Should merge archived loans into the history by loan date when full history is requested")
+    void testGetLoanHistoryFullHistory() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        LoanHistoryEntry recent = historyEntry(9L, LocalDate.of(2024, 5, 1), LoanStatus.RETURNED);
+        LoanHistoryEntry old = historyEntry(2L, LocalDate.of(2021, 3, 1), LoanStatus.RETURNED);
+        LoanHistoryEntry archived = historyEntry(5L, LocalDate.of(2022, 8, 1), LoanStatus.RETURNED);
+        EnumSet<LoanStatus> returned = EnumSet.of(LoanStatus.RETURNED);
+        when(loanRepository.findHistoryByUserId(1L, returned, from, to, to, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(recent, old));
+        when(archivedLoanRepository.findHistoryByUserId(1L, from, to, to, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(archived));
+
+        CursorPage<LoanHistoryEntry> page = loanService.getLoanHistory(1L, LoanStatus.RETURNED, from, to, true,
+                null, 2);
+        assertEquals(List.of(recent, archived), page.getItems());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed loan history cursor")
+    void testGetLoanHistoryInvalidCursor() {
+        String cursor = KeysetCursor.encode("yesterday", 7L);
+        assertThrows(RuntimeException.class,
+                () -> loanService.getLoanHistory(1L, null, null, null, false, cursor, 10));
+    }
+
+    @Test
+    @DisplayName("Should check out a book by decrementing available copies and creating an active loan")
+    void testCheckout() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableCopies(1L)).thenReturn(1);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Loan created = loanService.checkout(1L, 1L);
+
+        assertEquals(LoanStatus.ACTIVE, created.getStatus());
+        assertEquals(book, created.getBook());
+        assertEquals(user, created.getUser());
+        assertEquals(created.getLoanDate().plusDays(LoanService.LOAN_PERIOD_DAYS), created.getDueDate());
+        verify(bookRepository, times(1)).decrementAvailableCopies(1L);
+        verify(suggestionIndex, times(1)).recordLoan(book);
+        verify(bookCache, times(1)).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should count a checkout towards suggestion popularity only after it commits")
+    void testCheckoutRecordsLoanAfterCommit() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableCopies(1L)).thenReturn(1);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            loanService.checkout(1L, 1L);
+            verify(suggestionIndex, never()).recordLoan(book);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            verify(suggestionIndex, never()).recordLoan(book);
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            verify(suggestionIndex, times(1)).recordLoan(book);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a checkout when no copies are left")
+    void testCheckoutNoCopiesLeft() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(bookRepository.decrementAvailableCopies(1L)).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(NoCopiesAvailableException.class, () -> loanService.checkout(1L, 1L));
+        verify(loanRepository, never()).save(any(Loan.class));
+    }
+
+    @Test
+    @DisplayName("Should return a loan and give the copy back")
+    void testReturnLoan() {
+        when(loanRepository.findBookIdById(1L)).thenReturn(Optional.of(1L));
+        when(loanRepository.markReturned(eq(1L), any(LocalDate.class))).thenReturn(1);
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(loan));
+
+        loanService.returnLoan(1L);
+
+        verify(bookRepository, times(1)).incrementAvailableCopies(1L);
+        verify(bookCache, times(1)).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should not give a copy back twice for the same loan")
+    void testReturnLoanAlreadyReturned() {
+        when(loanRepository.findBookIdById(1L)).thenReturn(Optional.of(1L));
+        when(loanRepository.markReturned(eq(1L), any(LocalDate.class))).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> loanService.returnLoan(1L));
+        verify(bookRepository, never()).incrementAvailableCopies(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should export loans as one JSON document per line and detach them")
+    void testExportLoans() throws Exception {
+        Loan second = new Loan();
+        second.setId(2L);
+        second.setBook(book);
+        second.setUser(user);
+        second.setLoanDate(LocalDate.now());
+        second.setDueDate(LocalDate.now().plusDays(14));
+        when(loanRepository.streamAllForExport()).thenReturn(Stream.of(loan, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = loanService.exportLoans(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].startsWith("{\"id\":2,"));
+        verify(entityManager, times(1)).detach(loan);
+        verify(entityManager, times(1)).detach(second);
+    }
+
     @Test
     @DisplayName("Should throw exception when loan not found")
     void testUpdateLoanNotFound() {
         when(loanRepository.findById(999L)).thenReturn(Optional.empty());
         assertThrows(RuntimeException.class, () -> loanService.updateLoan(999L, loan));
     }
+
+    private LoanHistoryEntry historyEntry(Long id, LocalDate loanDate, LoanStatus status) {
+        return new LoanHistoryEntry(id, loanDate, loanDate.plusDays(LoanService.LOAN_PERIOD_DAYS), null, status,
+                book.getId(), book.getTitle());
+    }
 }
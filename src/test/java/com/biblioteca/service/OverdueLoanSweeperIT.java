@@ -0,0 +1,143 @@
+package com.biblioteca.service;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.LoanStatus;
+import com.biblioteca.model.SweepCheckpoint;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.SweepCheckpointRepository;
+import com.biblioteca.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "biblioteca.overdue-sweeper.chunk-size=3")
+@ActiveProfiles("integration-test")
+@DisplayName("OverdueLoanSweeper Integration Tests")
+class OverdueLoanSweeperIT {
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OverdueLoanSweeper sweeper;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private List<Loan> loans;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Author author = new Author();
+        author.setName("Gabriel García Márquez");
+        author = authorRepository.save(author);
+
+        Book book = new Book();
+        book.setTitle("One Hundred Years of Solitude");
+        book.setIsbn("978-0060883287");
+        book.setAuthor(author);
+        book.setCopies(20);
+        book.setAvailableCopies(10);
+        book = bookRepository.save(book);
+
+        User user = new User();
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setMemberId("M001");
+        user = userRepository.save(user);
+
+        // Ten overdue loans spread across several chunks, interleaved with loans the sweep must not touch
+        List<Loan> toSave = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            toSave.add(loan(book, user, TODAY.minusDays(1 + i), LoanStatus.ACTIVE));
+            toSave.add(loan(book, user, TODAY.plusDays(1 + i), LoanStatus.ACTIVE));
+        }
+        toSave.add(loan(book, user, TODAY.minusDays(30), LoanStatus.RETURNED));
+        loans = loanRepository.saveAll(toSave);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        checkpointRepository.deleteAll();
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should mark only active loans past their due date as overdue")
+    void testSweepMarksOverdueLoans() {
+        assertEquals(10, sweeper.sweep(TODAY));
+
+        for (Loan before : loans) {
+            LoanStatus expected = before.getStatus() == LoanStatus.ACTIVE && before.getDueDate().isBefore(TODAY)
+                    ? LoanStatus.OVERDUE
+                    : before.getStatus();
+            assertEquals(expected, loanRepository.findById(before.getId()).orElseThrow().getStatus(),
+                    "loan due " + before.getDueDate());
+        }
+        SweepCheckpoint checkpoint = checkpointRepository.findById(OverdueLoanSweeper.JOB_NAME).orElseThrow();
+        assertEquals(TODAY, checkpoint.getRunDate());
+        assertEquals(loanRepository.findMaxId().orElseThrow(), checkpoint.getLastId());
+        assertTrue(meterRegistry.get(OverdueLoanSweeper.SWEEP_TIMER).timer().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint on the same day and restart on the next")
+    void testSweepResumesFromCheckpoint() {
+        long midpoint = loans.get(loans.size() / 2).getId();
+        checkpointRepository.save(new SweepCheckpoint(OverdueLoanSweeper.JOB_NAME, midpoint, TODAY, LocalDateTime.now()));
+
+        long afterMidpoint = loans.stream()
+                .filter(l -> l.getId() > midpoint && l.getStatus() == LoanStatus.ACTIVE && l.getDueDate().isBefore(TODAY))
+                .count();
+        assertEquals(afterMidpoint, sweeper.sweep(TODAY));
+        assertEquals(0, sweeper.sweep(TODAY), "a finished sweep should not rescan the table the same day");
+
+        // The next day starts over from the first id and picks up the loans skipped above
+        assertEquals(10 - afterMidpoint, sweeper.sweep(TODAY.plusDays(1)));
+    }
+
+    private static Loan loan(Book book, User user, LocalDate dueDate, LoanStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setUser(user);
+        loan.setLoanDate(dueDate.minusDays(LoanService.LOAN_PERIOD_DAYS));
+        loan.setDueDate(dueDate);
+        loan.setStatus(status);
+        return loan;
+    }
+}
@@ -0,0 +1,159 @@
+package com.biblioteca.service;
+
+import com.biblioteca.concurrency.RequestCoalescer;
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.support.StatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires bursts of identical lookups at a cold cache. Every statement is slowed
+ * down so the whole burst overlaps the first query; the database must still see
+ * a constant number of statements per burst, not one per caller.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.biblioteca.support.StatementCounter")
+@ActiveProfiles("integration-test")
+@DisplayName("Request Coalescing Stress Tests")
+class RequestCoalescingIT {
+    private static final int CALLERS = 64;
+    private static final int BURSTS = 3;
+    private static final int STATEMENTS_PER_BURST = 2;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private Author author;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        author = new Author();
+        author.setName("Gabriel García Márquez");
+        author = authorRepository.save(author);
+
+        book = new Book();
+        book.setTitle("One Hundred Years of Solitude");
+        book.setIsbn("978-0060883287");
+        book.setAuthor(author);
+        book.setCopies(5);
+        book.setAvailableCopies(5);
+        book = bookRepository.save(book);
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementCounter.delay(0);
+        executor.shutdownNow();
+        cleanUp();
+    }
+
+    @Test
+    @DisplayName("Should query a book once per burst of GET /api/books/{id}")
+    void testBookByIdBurst() throws Exception {
+        assertConstantQueriesPerBurst("books.byId", () -> bookService.getBookById(book.getId()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should query available books once per burst of GET /api/books/available")
+    void testAvailableBooksBurst() throws Exception {
+        assertConstantQueriesPerBurst("books.available", () -> bookService.getAvailableBooks());
+    }
+
+    @Test
+    @DisplayName("Should query an author once per burst of GET /api/authors/{id}")
+    void testAuthorByIdBurst() throws Exception {
+        assertConstantQueriesPerBurst("authors.byId", () -> authorService.getAuthorById(author.getId()).orElseThrow());
+    }
+
+    private void assertConstantQueriesPerBurst(String name, Supplier<Object> lookup) throws Exception {
+        double collapsedBefore = collapsed(name);
+        for (int burst = 0; burst < BURSTS; burst++) {
+            cacheManager.getCacheNames().forEach(cache -> cacheManager.getCache(cache).clear());
+            entityManagerFactory.getCache().evictAll();
+            StatementCounter.reset();
+            StatementCounter.delay(150);
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lookup.get();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                assertNotNull(result.get(30, TimeUnit.SECONDS));
+            }
+            StatementCounter.delay(0);
+
+            assertTrue(StatementCounter.count() <= STATEMENTS_PER_BURST,
+                    CALLERS + " callers ran " + StatementCounter.count() + " statements: "
+                            + StatementCounter.statements());
+        }
+        assertTrue(collapsed(name) - collapsedBefore >= BURSTS * (CALLERS - STATEMENTS_PER_BURST),
+                "Expected most callers to share an in-flight query");
+    }
+
+    private double collapsed(String name) {
+        Counter counter = meterRegistry.find(RequestCoalescer.METRIC)
+                .tag("name", name)
+                .tag("outcome", "collapsed")
+                .counter();
+        return counter == null ? 0.0 : counter.count();
+    }
+
+    private void cleanUp() {
+        loanRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+}
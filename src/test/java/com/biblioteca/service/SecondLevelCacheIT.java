@@ -0,0 +1,198 @@
+package com.biblioteca.service;
+
+import com.biblioteca.model.Author;
+import com.biblioteca.model.Book;
+import com.biblioteca.model.Loan;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.AuthorRepository;
+import com.biblioteca.repository.BookRepository;
+import com.biblioteca.repository.LoanRepository;
+import com.biblioteca.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("integration-test")
+@DisplayName("Hibernate Second-Level Cache Tests")
+class SecondLevelCacheIT {
+    private static final int AUTHORS = 10;
+    private static final int BOOKS = 50;
+    private static final int LOANS = 1_000;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private List<Long> loanIds;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setName("Author " + i);
+            authors.add(author);
+        }
+        authors = authorRepository.saveAll(authors);
+
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setIsbn("978-" + (1_000_000_000L + i));
+            book.setAuthor(authors.get(i % AUTHORS));
+            book.setCopies(LOANS);
+            book.setAvailableCopies(LOANS);
+            books.add(book);
+        }
+        books = bookRepository.saveAll(books);
+
+        User user = new User();
+        user.setName("John Doe");
+        user.setEmail("john@example.com");
+        user.setMemberId("M001");
+        user = userRepository.save(user);
+
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < LOANS; i++) {
+            Loan loan = new Loan();
+            loan.setBook(books.get(i % BOOKS));
+            loan.setUser(user);
+            loan.setLoanDate(LocalDate.now());
+            loan.setDueDate(LocalDate.now().plusDays(LoanService.LOAN_PERIOD_DAYS));
+            loans.add(loan);
+        }
+        loanIds = loanRepository.saveAll(loans).stream().map(Loan::getId).sorted().toList();
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        loanRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        authorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Should resolve the authors of loaded loans from the cache, however many loans are read")
+    void testLoanAuthorsFromCache() {
+        loadLoansInPages(loanIds);
+
+        List<Long> someLoans = loanIds.subList(0, LOANS / 10);
+        statistics.clear();
+        assertEquals(someLoans.size(), loadLoansInPages(someLoans));
+        long authorHitsForSome = statistics.getDomainDataRegionStatistics("biblioteca.author").getHitCount();
+        assertEquals(0, statistics.getEntityStatistics(Author.class.getName()).getLoadCount());
+
+        statistics.clear();
+        assertEquals(LOANS, loadLoansInPages(loanIds));
+        long authorHitsForAll = statistics.getDomainDataRegionStatistics("biblioteca.author").getHitCount();
+        assertEquals(0, statistics.getEntityStatistics(Author.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Book.class.getName()).getLoadCount());
+        // Only the loan queries themselves reach the database
+        assertEquals(LOANS / AUTHORS, statistics.getPrepareStatementCount());
+
+        // Consecutive loans cycle through every author, so each page hits each author once
+        assertEquals(someLoans.size(), authorHitsForSome);
+        assertEquals(LOANS, authorHitsForAll);
+    }
+
+    @Test
+    @DisplayName("Should serve books and their authors by id from the cache on the second read")
+    void testBooksByIdFromCache() {
+        List<Long> bookIds = bookRepository.findAll().stream().map(Book::getId).toList();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics.clear();
+        assertEquals(BOOKS, loadBooksById(bookIds));
+        assertTrue(statistics.getPrepareStatementCount() > 0);
+
+        statistics.clear();
+        assertEquals(BOOKS, loadBooksById(bookIds));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Book.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getEntityStatistics(Author.class.getName()).getLoadCount());
+        assertEquals(BOOKS, statistics.getDomainDataRegionStatistics("biblioteca.book").getHitCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("biblioteca.author").getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Should resolve a book by ISBN from the natural-id cache")
+    void testNaturalIdCache() {
+        Book first = bookService.getBookByIsbn("978-1000000007").orElseThrow();
+
+        statistics.clear();
+        Book second = bookService.getBookByIsbn("978-1000000007").orElseThrow();
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdStatistics(Book.class.getName()).getCacheHitCount() > 0);
+    }
+
+    private int loadBooksById(List<Long> bookIds) {
+        return transactionTemplate.execute(status -> {
+            int loaded = 0;
+            for (Long id : bookIds) {
+                Book book = bookRepository.findById(id).orElseThrow();
+                book.getAuthor().getName();
+                loaded++;
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Reads the loans {@link #AUTHORS} at a time, each page in its own transaction like a request would.
+     * {@code findAllById} has no entity graph, so books and authors are resolved one by one.
+     */
+    private int loadLoansInPages(List<Long> ids) {
+        int loaded = 0;
+        for (int from = 0; from < ids.size(); from += AUTHORS) {
+            List<Long> page = ids.subList(from, Math.min(from + AUTHORS, ids.size()));
+            loaded += transactionTemplate.execute(status -> {
+                List<Loan> loans = loanRepository.findAllById(page);
+                loans.forEach(loan -> loan.getBook().getAuthor().getName());
+                return loans.size();
+            });
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,130 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.ImportConflict;
+import com.biblioteca.dto.UserImportResult;
+import com.biblioteca.model.User;
+import com.biblioteca.repository.UserRepository;
+import com.biblioteca.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 has no COPY, so {@link UserImportService} takes its JPA batch path here,
+ * the one used by every database other than PostgreSQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-import;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.biblioteca.support.StatementCounter"
+})
+@DisplayName("User Import Service Tests")
+class UserImportServiceTest {
+    private static final String HEADER = "name,email,member_id,city,active\n";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("Should insert in JDBC batches and report existing, duplicate and invalid rows")
+    void testImportInBatches() throws Exception {
+        userRepository.save(new User(null, "Ya Registrado", "user700@example.com", "M-OLD", "Sevilla", true));
+
+        int rows = 2 * UserImportService.BATCH_SIZE + 200;
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= rows; i++) {
+            csv.append("User ").append(i).append(",user").append(i).append("@example.com,M-").append(i)
+                    .append(",Madrid,true\n");
+        }
+        // Repeats a row of the first batch, so only the in-file check can catch it.
+        csv.append("Otra Persona,user3@example.com,M-9999,Madrid,true\n");
+        csv.append(",sin-nombre@example.com,M-9998,Madrid,true\n");
+
+        StatementCounter.reset();
+        UserImportResult result = userImportService.importUsers(stream(csv.toString()));
+        List<String> statements = StatementCounter.statements();
+
+        assertEquals("JPA_BATCH", result.getMethod());
+        assertEquals(rows + 2, result.getReceived());
+        assertEquals(rows - 1, result.getImported());
+        assertEquals(3, result.getConflicts());
+        assertEquals(List.of(
+                new ImportConflict(701, "user700@example.com", "M-700", UserImportService.CONFLICT_EXISTING),
+                new ImportConflict(rows + 2, "user3@example.com", "M-9999", UserImportService.CONFLICT_DUPLICATE),
+                new ImportConflict(rows + 3, "sin-nombre@example.com", "M-9998",
+                        UserImportService.CONFLICT_INVALID)),
+                result.getConflictSamples());
+        assertEquals(rows, userRepository.count());
+
+        // One existence lookup and one batched INSERT per flushed batch, not one per row.
+        assertEquals(3, count(statements, "insert into users"));
+        assertEquals(3, count(statements, "from users"));
+    }
+
+    @Test
+    @DisplayName("Should reject a row that repeats only the member id of an earlier row")
+    void testDuplicateMemberId() throws Exception {
+        UserImportResult result = userImportService.importUsers(stream(HEADER
+                + "Ana Pérez,ana@example.com,M-100,Madrid,true\n"
+                + "Luis Gómez,luis@example.com,M-100,Bilbao,false\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new ImportConflict(3, "luis@example.com", "M-100",
+                UserImportService.CONFLICT_DUPLICATE)), result.getConflictSamples());
+        assertTrue(userRepository.findByEmail("luis@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should let an invalid row claim nothing and an existing row claim its other key")
+    void testConflictsBetweenRejectedRows() throws Exception {
+        userRepository.save(new User(null, "John Doe", "john@example.com", "M-001", "Barcelona", true));
+
+        UserImportResult result = userImportService.importUsers(stream(HEADER
+                + ",ana@example.com,M-010,Madrid,true\n"
+                + "Ana Pérez,ana@example.com,M-010,Madrid,true\n"
+                + "John Again,john@example.com,M-020,Sevilla,true\n"
+                + "Luis Gómez,luis@example.com,M-020,Bilbao,true\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(
+                new ImportConflict(2, "ana@example.com", "M-010", UserImportService.CONFLICT_INVALID),
+                new ImportConflict(4, "john@example.com", "M-020", UserImportService.CONFLICT_EXISTING),
+                new ImportConflict(5, "luis@example.com", "M-020", UserImportService.CONFLICT_DUPLICATE)),
+                result.getConflictSamples());
+        assertTrue(userRepository.findByEmail("ana@example.com").isPresent());
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long count(List<String> statements, String fragment) {
+        return statements.stream().filter(sql -> sql.toLowerCase(Locale.ROOT).contains(fragment)).count();
+    }
+}
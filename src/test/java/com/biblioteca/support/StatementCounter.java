@@ -0,0 +1,53 @@
+package com.biblioteca.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every SQL statement Hibernate prepares. Register it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ * An optional delay makes every statement slow, to widen race windows.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile long delayMillis;
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+
+    public static void delay(long millis) {
+        delayMillis = millis;
+    }
+
+    public static void reset() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (STATEMENTS) {
+            return new ArrayList<>(STATEMENTS);
+        }
+    }
+
+    public static int count() {
+        synchronized (STATEMENTS) {
+            return STATEMENTS.size();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.biblioteca.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestTiming Tests")
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.end();
+    }
+
+    @Test
+    @DisplayName("Should only be present between begin and end")
+    void testLifecycle() {
+        assertNull(RequestTiming.current());
+        RequestTiming timing = RequestTiming.begin();
+        assertSame(timing, RequestTiming.current());
+        RequestTiming.end();
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    @DisplayName("Should accumulate statements, connections and serialization into the header")
+    void testHeaderFormat() {
+        RequestTiming timing = RequestTiming.begin();
+        timing.recordStatement(1_500_000);
+        timing.recordStatement(500_000);
+        timing.recordPoolWait(250_000);
+        timing.recordSerialization(3_000_000);
+
+        String header = timing.toHeader();
+
+        assertTrue(header.startsWith("db;desc=\"2 statements\";dur=2.00, pool;desc=\"1 connections\";dur=0.25, "));
+        assertTrue(header.contains("serialization;dur=3.00"));
+        assertTrue(header.contains("total;dur="));
+    }
+
+    @Test
+    @DisplayName("Should only count the outermost service call")
+    void testNestedServiceCalls() {
+        RequestTiming timing = RequestTiming.begin();
+        boolean outer = timing.enterService();
+        boolean inner = timing.enterService();
+        timing.exitService(inner, 4_000_000);
+        timing.exitService(outer, 5_000_000);
+
+        assertTrue(outer);
+        assertFalse(inner);
+        assertTrue(timing.toHeader().contains("service;dur=5.00"));
+    }
+}